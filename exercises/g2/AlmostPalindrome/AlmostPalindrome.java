@@ -1,11 +1,17 @@
+import java.util.List;
+import java.util.stream.IntStream;
+
 public class AlmostPalindrome {
+    // Two DP rows per thread, grown on demand and reused afterwards
+    private static final ThreadLocal<int[][]> ROWS = ThreadLocal.withInitial(() -> new int[2][0]);
+
+    // True if exactly one deletion is needed, so palindromes themselves are not "almost"
     public static boolean isAlmostPalindrome(String s) {
-        s = s.toLowerCase();
         int left = 0;
         int right = s.length() - 1;
 
         while (left < right) {
-            if (s.charAt(left) != s.charAt(right)) {
+            if (!sameLetter(s.charAt(left), s.charAt(right))) {
                 // Try to remove either left or right
                 return isPalindrome(s, left + 1, right) || isPalindrome(s, left, right - 1);
             }
@@ -15,9 +21,9 @@ public class AlmostPalindrome {
         return false;
     }
 
-    private static boolean isPalindrome(String s, int left, int right) {
+    private static boolean isPalindrome(CharSequence s, int left, int right) {
         while (left < right) {
-            if (s.charAt(left) != s.charAt(right)) {
+            if (!sameLetter(s.charAt(left), s.charAt(right))) {
                 return false;
             }
             left++;
@@ -25,4 +31,88 @@ public class AlmostPalindrome {
         }
         return true;
     }
-}
\ No newline at end of file
+
+    // True if deleting at most k chars makes s a palindrome, ignoring case.
+    // Deletion distance between s and its reverse, restricted to the diagonal band
+    // |i - j| <= k that any solution stays in: O(n * k) time, O(k) reused space.
+    public static boolean isKPalindrome(CharSequence s, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+
+        // Matching ends never need a deletion
+        int lo = 0;
+        int hi = s.length() - 1;
+        while (lo < hi && sameLetter(s.charAt(lo), s.charAt(hi))) {
+            lo++;
+            hi--;
+        }
+        int n = hi - lo + 1;
+        if (n <= 1) return true;
+        // Keeping any single char is always a palindrome
+        if (k >= n - 1) return true;
+
+        int width = 2 * k + 1;
+        int limit = 2 * k + 1;
+        int[][] rows = ROWS.get();
+        if (rows[0].length < width) {
+            rows[0] = new int[width];
+            rows[1] = new int[width];
+        }
+        int[] prev = rows[0];
+        int[] cur = rows[1];
+
+        // Row i = 0: D[0][j] = j for j = d - k >= 0
+        for (int d = 0; d < width; d++) {
+            int j = d - k;
+            prev[d] = j >= 0 ? j : limit;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            char a = s.charAt(lo + i - 1);
+            int best = limit;
+            for (int d = 0; d < width; d++) {
+                int j = i + d - k;
+                int value;
+                if (j < 0 || j > n) {
+                    value = limit;
+                } else if (j == 0) {
+                    value = i;
+                } else {
+                    // Column j of the reversed string is s[hi - j + 1]
+                    if (sameLetter(a, s.charAt(hi - j + 1))) {
+                        value = prev[d];
+                    } else {
+                        int up = d + 1 < width ? prev[d + 1] : limit;
+                        int left = d > 0 ? cur[d - 1] : limit;
+                        value = 1 + Math.min(up, left);
+                    }
+                }
+                value = Math.min(value, limit);
+                cur[d] = value;
+                best = Math.min(best, value);
+            }
+            // Every path through this row already needs too many deletions
+            if (best >= limit) return false;
+
+            int[] swap = prev;
+            prev = cur;
+            cur = swap;
+        }
+        // Each deletion from s is matched by one from its reverse
+        return prev[k] <= 2 * k;
+    }
+
+    // Checks every string on the common fork/join pool
+    public static boolean[] isKPalindrome(List<? extends CharSequence> strings, int k) {
+        boolean[] result = new boolean[strings.size()];
+        IntStream.range(0, result.length).parallel()
+                .forEach(i -> result[i] = isKPalindrome(strings.get(i), k));
+        return result;
+    }
+
+    private static boolean sameLetter(char a, char b) {
+        return a == b || Character.toLowerCase(a) == Character.toLowerCase(b)
+                || Character.toUpperCase(a) == Character.toUpperCase(b);
+    }
+}
@@ -0,0 +1,230 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+// Counts requests per domain and path in an access log. Lines are split across the
+// common fork/join pool; each worker owns a URLTokenizer and a partial count table,
+// and the partial tables are merged at the end. The URL of a line is its first
+// whitespace-separated field that contains "://" or starts with '/' (a bare request
+// path, counted under the domain ""). Lines without one are counted as unparsed.
+public class AccessLogAggregator {
+    public Report aggregate(Path log) throws IOException {
+        // UTF-8 line streams split efficiently for parallel use
+        try (Stream<String> lines = Files.lines(log, StandardCharsets.UTF_8)) {
+            return aggregate(lines);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public Report aggregate(Stream<? extends CharSequence> lines) {
+        return lines.parallel().collect(Report::new, Report::add, Report::merge);
+    }
+
+    public static final class Report {
+        private final URLTokenizer tokenizer = new URLTokenizer();
+        // Domains are matched case-insensitively and stored lowercased
+        private final RegionMap<RegionMap<long[]>> counts = new RegionMap<>(true);
+        private long total;
+        private long unparsed;
+
+        private void add(CharSequence line) {
+            int length = line.length();
+            int i = 0;
+            while (i < length) {
+                while (i < length && Character.isWhitespace(line.charAt(i))) i++;
+                int start = i;
+                boolean absolute = false;
+                while (i < length && !Character.isWhitespace(line.charAt(i))) {
+                    if (line.charAt(i) == ':' && i + 2 < length && line.charAt(i + 1) == '/' && line.charAt(i + 2) == '/') {
+                        absolute = true;
+                    }
+                    i++;
+                }
+                if (start < i && (absolute || line.charAt(start) == '/') && tokenizer.parse(line, start, i)) {
+                    count();
+                    return;
+                }
+            }
+            unparsed++;
+        }
+
+        // Looks both keys up in place; a String is made only for a domain or path
+        // seen for the first time
+        private void count() {
+            CharSequence input = tokenizer.input();
+            RegionMap<long[]> paths = tokenizer.hasAuthority()
+                    ? paths(input, tokenizer.hostStart(), tokenizer.hostEnd())
+                    : paths("", 0, 0);
+            long[] count = tokenizer.pathStart() < tokenizer.pathEnd()
+                    ? count(paths, input, tokenizer.pathStart(), tokenizer.pathEnd())
+                    : count(paths, "/", 0, 1);
+            count[0]++;
+            total++;
+        }
+
+        private RegionMap<long[]> paths(CharSequence text, int start, int end) {
+            RegionMap<long[]> paths = counts.get(text, start, end);
+            if (paths == null) {
+                paths = new RegionMap<>(false);
+                counts.put(counts.key(text, start, end), paths);
+            }
+            return paths;
+        }
+
+        private static long[] count(RegionMap<long[]> paths, CharSequence text, int start, int end) {
+            long[] count = paths.get(text, start, end);
+            if (count == null) {
+                count = new long[1];
+                paths.put(paths.key(text, start, end), count);
+            }
+            return count;
+        }
+
+        private void merge(Report other) {
+            other.counts.forEach((domain, theirs) -> {
+                RegionMap<long[]> mine = paths(domain, 0, domain.length());
+                theirs.forEach((path, count) -> count(mine, path, 0, path.length())[0] += count[0]);
+            });
+            total += other.total;
+            unparsed += other.unparsed;
+        }
+
+        // Lines that contained a URL
+        public long total() {
+            return total;
+        }
+
+        public long unparsed() {
+            return unparsed;
+        }
+
+        // Hits per domain, sorted by domain
+        public Map<String, Long> byDomain() {
+            Map<String, Long> result = new TreeMap<>();
+            counts.forEach((domain, paths) -> {
+                long[] sum = new long[1];
+                paths.forEach((path, count) -> sum[0] += count[0]);
+                result.put(domain, sum[0]);
+            });
+            return result;
+        }
+
+        // Hits per path of one domain, sorted by path
+        public Map<String, Long> byPath(String domain) {
+            RegionMap<long[]> paths = counts.get(domain, 0, domain.length());
+            if (paths == null) return Collections.emptyMap();
+
+            Map<String, Long> result = new TreeMap<>();
+            paths.forEach((path, count) -> result.put(path, count[0]));
+            return result;
+        }
+
+        public long hits(String domain, String path) {
+            RegionMap<long[]> paths = counts.get(domain, 0, domain.length());
+            long[] count = paths == null ? null : paths.get(path, 0, path.length());
+            return count == null ? 0 : count[0];
+        }
+    }
+
+    // Open-addressing map with String keys that is searched by a region of any
+    // CharSequence, so a lookup needs no substring. With ignoreCase, ASCII letters
+    // are folded to lower case in both the hash and the comparison.
+    private static final class RegionMap<V> {
+        private final boolean ignoreCase;
+        private String[] keys = new String[16];
+        private int[] hashes = new int[16];
+        private Object[] values = new Object[16];
+        private int size;
+
+        RegionMap(boolean ignoreCase) {
+            this.ignoreCase = ignoreCase;
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(CharSequence text, int start, int end) {
+            int hash = hash(text, start, end);
+            int mask = keys.length - 1;
+            for (int slot = hash & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+                if (hashes[slot] == hash && matches(keys[slot], text, start, end)) {
+                    return (V) values[slot];
+                }
+            }
+            return null;
+        }
+
+        // The key must not be present yet and must come from key()
+        void put(String key, V value) {
+            if ((size + 1) * 2 > keys.length) grow();
+            insert(key, hash(key, 0, key.length()), value);
+            size++;
+        }
+
+        // The stored form of a region
+        String key(CharSequence text, int start, int end) {
+            if (!ignoreCase) return text.subSequence(start, end).toString();
+            char[] chars = new char[end - start];
+            for (int i = start; i < end; i++) {
+                chars[i - start] = fold(text.charAt(i));
+            }
+            return new String(chars);
+        }
+
+        @SuppressWarnings("unchecked")
+        void forEach(BiConsumer<String, V> action) {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != null) action.accept(keys[slot], (V) values[slot]);
+            }
+        }
+
+        private void insert(String key, int hash, Object value) {
+            int mask = keys.length - 1;
+            int slot = hash & mask;
+            while (keys[slot] != null) slot = (slot + 1) & mask;
+            keys[slot] = key;
+            hashes[slot] = hash;
+            values[slot] = value;
+        }
+
+        private void grow() {
+            String[] oldKeys = keys;
+            int[] oldHashes = hashes;
+            Object[] oldValues = values;
+            keys = new String[oldKeys.length * 2];
+            hashes = new int[oldKeys.length * 2];
+            values = new Object[oldKeys.length * 2];
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != null) insert(oldKeys[slot], oldHashes[slot], oldValues[slot]);
+            }
+        }
+
+        private boolean matches(String key, CharSequence text, int start, int end) {
+            if (key.length() != end - start) return false;
+            for (int i = start; i < end; i++) {
+                char c = text.charAt(i);
+                if ((ignoreCase ? fold(c) : c) != key.charAt(i - start)) return false;
+            }
+            return true;
+        }
+
+        private int hash(CharSequence text, int start, int end) {
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                char c = text.charAt(i);
+                h = 31 * h + (ignoreCase ? fold(c) : c);
+            }
+            return h ^ (h >>> 16);
+        }
+
+        private static char fold(char c) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+    }
+}
@@ -21,7 +21,7 @@ public class BreakdownURL {
             } else {
                 components.put("path", "/"); // Probably not needed if you run newer version of JDK
             }
-            if (!parsed.getQuery().isEmpty()) {
+            if (parsed.getQuery() != null && !parsed.getQuery().isEmpty()) {
                 components.put("query", parsed.getQuery());
             }
         } catch (Exception e) {
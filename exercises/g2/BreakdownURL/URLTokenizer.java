@@ -0,0 +1,301 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Hand-written RFC 3986 splitter. parse() records the boundaries of each component as
+// offsets into the input instead of copying it, so one instance can be reused for any
+// number of URLs without allocating. Absent components have start == end == -1.
+// An instance holds the last parsed URL and is not thread-safe.
+public class URLTokenizer {
+    private CharSequence input;
+
+    private int schemeStart, schemeEnd;
+    private int userInfoStart, userInfoEnd;
+    private int hostStart, hostEnd;
+    private int portStart, portEnd;
+    private int pathStart, pathEnd;
+    private int queryStart, queryEnd;
+    private int fragmentStart, fragmentEnd;
+    private int port;
+
+    private final QueryParams params = new QueryParams();
+
+    public boolean parse(CharSequence url) {
+        return parse(url, 0, url.length());
+    }
+
+    // Splits url[from, to) following RFC 3986 appendix B; returns false when the
+    // authority is malformed (unclosed IP literal, or a port that is not a number)
+    public boolean parse(CharSequence url, int from, int to) {
+        input = url;
+        schemeStart = schemeEnd = userInfoStart = userInfoEnd = hostStart = hostEnd = -1;
+        portStart = portEnd = queryStart = queryEnd = fragmentStart = fragmentEnd = -1;
+        port = -1;
+
+        int i = from;
+
+        // scheme = ALPHA *( ALPHA / DIGIT / "+" / "-" / "." ) ":"
+        if (i < to && isAlpha(url.charAt(i))) {
+            int j = i + 1;
+            while (j < to && isSchemeChar(url.charAt(j))) j++;
+            if (j < to && url.charAt(j) == ':') {
+                schemeStart = i;
+                schemeEnd = j;
+                i = j + 1;
+            }
+        }
+
+        boolean valid = true;
+        if (i + 1 < to && url.charAt(i) == '/' && url.charAt(i + 1) == '/') {
+            int start = i + 2;
+            int end = start;
+            while (end < to && !isAuthorityEnd(url.charAt(end))) end++;
+            valid = parseAuthority(url, start, end);
+            i = end;
+        }
+
+        pathStart = i;
+        while (i < to && url.charAt(i) != '?' && url.charAt(i) != '#') i++;
+        pathEnd = i;
+
+        if (i < to && url.charAt(i) == '?') {
+            queryStart = ++i;
+            while (i < to && url.charAt(i) != '#') i++;
+            queryEnd = i;
+        }
+        if (i < to) {
+            fragmentStart = i + 1;
+            fragmentEnd = to;
+        }
+        return valid;
+    }
+
+    // authority = [ userinfo "@" ] host [ ":" port ]
+    private boolean parseAuthority(CharSequence url, int start, int end) {
+        int host = start;
+        for (int i = end - 1; i >= start; i--) {
+            if (url.charAt(i) == '@') {
+                userInfoStart = start;
+                userInfoEnd = i;
+                host = i + 1;
+                break;
+            }
+        }
+
+        int hostLimit = host;
+        if (host < end && url.charAt(host) == '[') {
+            // IP literal: colons inside the brackets are not port separators
+            while (hostLimit < end && url.charAt(hostLimit) != ']') hostLimit++;
+            if (hostLimit == end) return false;
+            hostLimit++;
+        } else {
+            while (hostLimit < end && url.charAt(hostLimit) != ':') hostLimit++;
+        }
+        hostStart = host;
+        hostEnd = hostLimit;
+
+        if (hostLimit < end) {
+            if (url.charAt(hostLimit) != ':') return false;
+            portStart = hostLimit + 1;
+            portEnd = end;
+            // An empty port is allowed and means the scheme's default
+            if (portStart < portEnd) {
+                int value = 0;
+                for (int i = portStart; i < portEnd; i++) {
+                    char c = url.charAt(i);
+                    if (c < '0' || c > '9' || value > 65535) return false;
+                    value = value * 10 + (c - '0');
+                }
+                if (value > 65535) return false;
+                port = value;
+            }
+        }
+        return true;
+    }
+
+    public CharSequence input() {
+        return input;
+    }
+
+    public boolean hasScheme() {
+        return schemeStart >= 0;
+    }
+
+    public int schemeStart() {
+        return schemeStart;
+    }
+
+    public int schemeEnd() {
+        return schemeEnd;
+    }
+
+    public boolean hasAuthority() {
+        return hostStart >= 0;
+    }
+
+    public int userInfoStart() {
+        return userInfoStart;
+    }
+
+    public int userInfoEnd() {
+        return userInfoEnd;
+    }
+
+    public int hostStart() {
+        return hostStart;
+    }
+
+    public int hostEnd() {
+        return hostEnd;
+    }
+
+    // Numeric port, or -1 when none is given
+    public int port() {
+        return port;
+    }
+
+    public int portStart() {
+        return portStart;
+    }
+
+    public int portEnd() {
+        return portEnd;
+    }
+
+    // The path is always present, but may be empty
+    public int pathStart() {
+        return pathStart;
+    }
+
+    public int pathEnd() {
+        return pathEnd;
+    }
+
+    public boolean hasQuery() {
+        return queryStart >= 0;
+    }
+
+    public int queryStart() {
+        return queryStart;
+    }
+
+    public int queryEnd() {
+        return queryEnd;
+    }
+
+    public boolean hasFragment() {
+        return fragmentStart >= 0;
+    }
+
+    public int fragmentStart() {
+        return fragmentStart;
+    }
+
+    public int fragmentEnd() {
+        return fragmentEnd;
+    }
+
+    // Compares a component with a string without extracting it
+    public boolean regionEquals(int start, int end, String expected, boolean ignoreCase) {
+        if (start < 0 || end - start != expected.length()) return false;
+        for (int i = 0; i < expected.length(); i++) {
+            char a = input.charAt(start + i);
+            char b = expected.charAt(i);
+            if (a != b && !(ignoreCase && Character.toLowerCase(a) == Character.toLowerCase(b))) return false;
+        }
+        return true;
+    }
+
+    // Restarts and returns the shared cursor over the query's key=value pairs
+    public QueryParams queryParams() {
+        params.reset();
+        return params;
+    }
+
+    // Same keys as BreakdownURL.parseURL; this is the only method that copies text
+    public Map<String, String> toMap() {
+        Map<String, String> components = new LinkedHashMap<>();
+        if (hasScheme()) {
+            components.put("protocol", input.subSequence(schemeStart, schemeEnd).toString());
+        }
+        if (hasAuthority() && hostStart < hostEnd) {
+            components.put("domain", input.subSequence(hostStart, hostEnd).toString());
+        }
+        if (port >= 0) {
+            components.put("port", String.valueOf(port));
+        }
+        components.put("path", pathStart < pathEnd ? input.subSequence(pathStart, pathEnd).toString() : "/");
+        if (hasQuery() && queryStart < queryEnd) {
+            components.put("query", input.subSequence(queryStart, queryEnd).toString());
+        }
+        return components;
+    }
+
+    // Walks the query pairs separated by '&' or ';'. A pair without '=' has an empty
+    // value at its end; empty pairs are skipped. Offsets are into input().
+    public final class QueryParams {
+        private int next;
+        private int keyStart, keyEnd, valueStart, valueEnd;
+
+        private void reset() {
+            next = queryStart;
+            keyStart = keyEnd = valueStart = valueEnd = -1;
+        }
+
+        public boolean next() {
+            if (next < 0) return false;
+            while (next < queryEnd) {
+                int start = next;
+                int end = start;
+                int equals = -1;
+                while (end < queryEnd) {
+                    char c = input.charAt(end);
+                    if (c == '&' || c == ';') break;
+                    if (c == '=' && equals < 0) equals = end;
+                    end++;
+                }
+                next = end + 1;
+                if (end == start) continue;
+
+                keyStart = start;
+                keyEnd = equals < 0 ? end : equals;
+                valueStart = equals < 0 ? end : equals + 1;
+                valueEnd = end;
+                return true;
+            }
+            next = -1;
+            return false;
+        }
+
+        public int keyStart() {
+            return keyStart;
+        }
+
+        public int keyEnd() {
+            return keyEnd;
+        }
+
+        public int valueStart() {
+            return valueStart;
+        }
+
+        public int valueEnd() {
+            return valueEnd;
+        }
+
+        public boolean keyEquals(String key) {
+            return regionEquals(keyStart, keyEnd, key, false);
+        }
+    }
+
+    private static boolean isAlpha(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isSchemeChar(char c) {
+        return isAlpha(c) || (c >= '0' && c <= '9') || c == '+' || c == '-' || c == '.';
+    }
+
+    private static boolean isAuthorityEnd(char c) {
+        return c == '/' || c == '?' || c == '#';
+    }
+}
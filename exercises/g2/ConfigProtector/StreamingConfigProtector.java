@@ -0,0 +1,307 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+
+// Streaming version of ConfigProtector. Keys are hashed once up front; each line's key
+// (the text before its first '=') is then looked up in O(1) while the line streams
+// through, and the value of a sensitive key is replaced by one '*' per character.
+// Line endings are copied as they are, and a '\r' before '\n' is not masked.
+public class StreamingConfigProtector {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // Files are mapped in windows of this many bytes
+    private static final long MAP_WINDOW = 1L << 30;
+
+    private enum State { KEY, COPY, MASK }
+
+    private final KeyTable keys;
+
+    public StreamingConfigProtector(Collection<String> sensitiveKeys) {
+        this.keys = new KeyTable(sensitiveKeys);
+    }
+
+    public String hideSensitiveData(String configFile) {
+        StringWriter out = new StringWriter(configFile.length());
+        try {
+            hideSensitiveData(new StringReader(configFile), out);
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory streams do not fail", e);
+        }
+        return out.toString();
+    }
+
+    // Copies in to out with sensitive values masked; neither stream is closed
+    public void hideSensitiveData(Reader in, Writer out) throws IOException {
+        char[] input = new char[BUFFER_SIZE];
+        CharMasker masker = new CharMasker(keys, out);
+
+        int read;
+        while ((read = in.read(input, 0, input.length)) != -1) {
+            for (int i = 0; i < read; i++) {
+                masker.feed(input[i], 1);
+            }
+        }
+        masker.finish();
+        out.flush();
+    }
+
+    // Masks a UTF-8 file through read-only memory mappings
+    public void hideSensitiveData(Path in, Path out) throws IOException {
+        try (FileChannel channel = FileChannel.open(in, StandardOpenOption.READ);
+             OutputStream sink = Files.newOutputStream(out)) {
+            ByteMasker masker = new ByteMasker(keys, sink);
+
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAP_WINDOW) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(MAP_WINDOW, size - position));
+
+                while (window.hasRemaining()) {
+                    byte b = window.get();
+                    masker.feed(b, stars(b));
+                }
+            }
+            masker.finish();
+        }
+    }
+
+    // One '*' per UTF-16 char: continuation bytes count for nothing and lead bytes
+    // of 4-byte sequences count twice
+    private static int stars(byte b) {
+        if ((b & 0xC0) == 0x80) return 0;
+        return (b & 0xF8) == 0xF0 ? 2 : 1;
+    }
+
+    // Per-line state machine shared by the char and byte paths. A line's key is
+    // collected until '='; after a sensitive key the rest of the line is masked.
+    private abstract static class LineMasker {
+        private State state = State.KEY;
+        private boolean pendingReturn;
+        int keyLength;
+
+        // Adds c to the key, or returns false if the key is longer than every sensitive key
+        abstract boolean keep(int c);
+
+        abstract boolean sensitive();
+
+        abstract void write(int c) throws IOException;
+
+        abstract void flush() throws IOException;
+
+        // stars is how many '*' stand for c in a masked value
+        final void feed(int c, int stars) throws IOException {
+            switch (state) {
+                case KEY:
+                    if (c == '=') {
+                        state = sensitive() ? State.MASK : State.COPY;
+                    } else if (c == '\n') {
+                        keyLength = 0;
+                    } else if (!keep(c)) {
+                        state = State.COPY;
+                    }
+                    write(c);
+                    break;
+
+                case COPY:
+                    write(c);
+                    if (c == '\n') {
+                        state = State.KEY;
+                        keyLength = 0;
+                    }
+                    break;
+
+                case MASK:
+                    if (pendingReturn) {
+                        write(c == '\n' ? '\r' : '*');
+                        pendingReturn = false;
+                    }
+                    if (c == '\n') {
+                        write(c);
+                        state = State.KEY;
+                        keyLength = 0;
+                    } else if (c == '\r') {
+                        pendingReturn = true;
+                    } else {
+                        for (int i = 0; i < stars; i++) {
+                            write('*');
+                        }
+                    }
+                    break;
+            }
+        }
+
+        // A '\r' at the very end was not part of a line ending
+        final void finish() throws IOException {
+            if (pendingReturn) {
+                write('*');
+                pendingReturn = false;
+            }
+            flush();
+        }
+    }
+
+    private static final class CharMasker extends LineMasker {
+        private final KeyTable keys;
+        private final Writer out;
+        private final char[] key;
+        private final char[] output = new char[BUFFER_SIZE];
+        private int written;
+
+        CharMasker(KeyTable keys, Writer out) {
+            this.keys = keys;
+            this.out = out;
+            this.key = new char[keys.maxCharLength];
+        }
+
+        @Override
+        boolean keep(int c) {
+            if (keyLength == key.length) return false;
+            key[keyLength++] = (char) c;
+            return true;
+        }
+
+        @Override
+        boolean sensitive() {
+            return keys.contains(key, keyLength);
+        }
+
+        @Override
+        void write(int c) throws IOException {
+            if (written == output.length) flush();
+            output[written++] = (char) c;
+        }
+
+        @Override
+        void flush() throws IOException {
+            out.write(output, 0, written);
+            written = 0;
+        }
+    }
+
+    private static final class ByteMasker extends LineMasker {
+        private final KeyTable keys;
+        private final OutputStream out;
+        private final byte[] key;
+        private final byte[] output = new byte[BUFFER_SIZE];
+        private int written;
+
+        ByteMasker(KeyTable keys, OutputStream out) {
+            this.keys = keys;
+            this.out = out;
+            this.key = new byte[keys.maxByteLength];
+        }
+
+        @Override
+        boolean keep(int c) {
+            if (keyLength == key.length) return false;
+            key[keyLength++] = (byte) c;
+            return true;
+        }
+
+        @Override
+        boolean sensitive() {
+            return keys.contains(key, keyLength);
+        }
+
+        @Override
+        void write(int c) throws IOException {
+            if (written == output.length) flush();
+            output[written++] = (byte) c;
+        }
+
+        @Override
+        void flush() throws IOException {
+            out.write(output, 0, written);
+            written = 0;
+        }
+    }
+
+    // Open-addressing set of keys, searchable by chars or by UTF-8 bytes without
+    // building a String for the candidate
+    private static final class KeyTable {
+        private final char[][] charKeys;
+        private final byte[][] byteKeys;
+        private final int mask;
+        final int maxCharLength;
+        final int maxByteLength;
+
+        KeyTable(Collection<String> keys) {
+            int capacity = Integer.highestOneBit(Math.max(4, keys.size() * 2) * 2 - 1);
+            charKeys = new char[capacity][];
+            byteKeys = new byte[capacity][];
+            mask = capacity - 1;
+
+            int maxChars = 0;
+            int maxBytes = 0;
+            for (String key : keys) {
+                char[] chars = key.toCharArray();
+                byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+                insert(chars);
+                insert(bytes);
+                maxChars = Math.max(maxChars, chars.length);
+                maxBytes = Math.max(maxBytes, bytes.length);
+            }
+            maxCharLength = maxChars;
+            maxByteLength = maxBytes;
+        }
+
+        boolean contains(char[] candidate, int length) {
+            for (int slot = hash(candidate, length) & mask; charKeys[slot] != null; slot = (slot + 1) & mask) {
+                if (Arrays.equals(charKeys[slot], 0, charKeys[slot].length, candidate, 0, length)) return true;
+            }
+            return false;
+        }
+
+        boolean contains(byte[] candidate, int length) {
+            for (int slot = hash(candidate, length) & mask; byteKeys[slot] != null; slot = (slot + 1) & mask) {
+                if (Arrays.equals(byteKeys[slot], 0, byteKeys[slot].length, candidate, 0, length)) return true;
+            }
+            return false;
+        }
+
+        private void insert(char[] key) {
+            int slot = hash(key, key.length) & mask;
+            while (charKeys[slot] != null) {
+                if (Arrays.equals(charKeys[slot], key)) return;
+                slot = (slot + 1) & mask;
+            }
+            charKeys[slot] = key;
+        }
+
+        private void insert(byte[] key) {
+            int slot = hash(key, key.length) & mask;
+            while (byteKeys[slot] != null) {
+                if (Arrays.equals(byteKeys[slot], key)) return;
+                slot = (slot + 1) & mask;
+            }
+            byteKeys[slot] = key;
+        }
+
+        private static int hash(char[] chars, int length) {
+            int h = 0;
+            for (int i = 0; i < length; i++) {
+                h = 31 * h + chars[i];
+            }
+            return h ^ (h >>> 16);
+        }
+
+        private static int hash(byte[] bytes, int length) {
+            int h = 0;
+            for (int i = 0; i < length; i++) {
+                h = 31 * h + bytes[i];
+            }
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Exact n! for large n. The power of two is split off and applied as a single shift;
+// the odd part is built from balanced product trees (Luschny's split-recursive scheme),
+// with the larger subtrees multiplied in parallel. Results are kept as checkpoints
+// so that a later n close above a cached one only multiplies in the gap; the
+// checkpoints share a budget of total bits and the least recently used go first.
+public class BigFactorial {
+    // Odd ranges with fewer factors than this are multiplied on the calling thread
+    static final int PARALLEL_THRESHOLD = 1 << 11;
+
+    // Below this many factors a plain loop beats further splitting
+    static final int LEAF_SIZE = 16;
+
+    // Reuse a checkpoint m! for n when n - m is at most this fraction of n
+    static final int CHECKPOINT_REACH = 8;
+
+    // Default checkpoint budget: 2^27 bits, i.e. 16 MB of magnitude
+    static final long DEFAULT_CHECKPOINT_BITS = 1L << 27;
+
+    private static final class Checkpoint {
+        final BigInteger value;
+        volatile long lastUsed;
+
+        Checkpoint(BigInteger value) {
+            this.value = value;
+            this.lastUsed = System.nanoTime();
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final long checkpointBits;
+    private final ConcurrentSkipListMap<Integer, Checkpoint> checkpoints = new ConcurrentSkipListMap<>();
+    private long storedBits;
+
+    public BigFactorial() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public BigFactorial(ForkJoinPool pool) {
+        this(pool, DEFAULT_CHECKPOINT_BITS);
+    }
+
+    // A budget of 0 turns checkpointing off
+    public BigFactorial(ForkJoinPool pool, long checkpointBits) {
+        if (checkpointBits < 0) {
+            throw new IllegalArgumentException("Checkpoint budget must not be negative: " + checkpointBits);
+        }
+        this.pool = pool;
+        this.checkpointBits = checkpointBits;
+    }
+
+    public BigInteger calculate(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Factorial of a negative number: " + n);
+        }
+        if (n < 2) return BigInteger.ONE;
+
+        Map.Entry<Integer, Checkpoint> nearest = checkpoints.floorEntry(n);
+        BigInteger result;
+        if (nearest != null && n - nearest.getKey() <= n / CHECKPOINT_REACH) {
+            int m = nearest.getKey();
+            Checkpoint checkpoint = nearest.getValue();
+            checkpoint.lastUsed = System.nanoTime();
+            if (m == n) return checkpoint.value;
+            result = checkpoint.value.multiply(product(m + 1, n));
+        } else {
+            result = compute(n);
+        }
+
+        remember(n, result);
+        return result;
+    }
+
+    private BigInteger compute(int n) {
+        // n! = oddPart * 2^(n - bitCount(n))
+        BigInteger oddPart = BigInteger.ONE;
+        BigInteger levelProduct = BigInteger.ONE;
+        for (int k = 31 - Integer.numberOfLeadingZeros(n); k >= 0; k--) {
+            // Odd numbers in (n >> (k + 1), n >> k] join every level below this one
+            levelProduct = levelProduct.multiply(oddProduct(n >> (k + 1), n >> k));
+            oddPart = oddPart.multiply(levelProduct);
+        }
+        return oddPart.shiftLeft(n - Integer.bitCount(n));
+    }
+
+    // Stores n! and evicts least recently used checkpoints until the budget fits
+    private synchronized void remember(int n, BigInteger value) {
+        long bits = value.bitLength();
+        if (bits > checkpointBits || checkpoints.containsKey(n)) return;
+
+        checkpoints.put(n, new Checkpoint(value));
+        storedBits += bits;
+        while (storedBits > checkpointBits) {
+            Map.Entry<Integer, Checkpoint> oldest = null;
+            for (Map.Entry<Integer, Checkpoint> entry : checkpoints.entrySet()) {
+                if (oldest == null || entry.getValue().lastUsed < oldest.getValue().lastUsed) {
+                    oldest = entry;
+                }
+            }
+            checkpoints.remove(oldest.getKey());
+            storedBits -= oldest.getValue().value.bitLength();
+        }
+    }
+
+    // Product of all integers in [from, to]
+    private BigInteger product(int from, int to) {
+        return pool.invoke(new ProductTask(from, to - from + 1, 1));
+    }
+
+    // Product of the odd integers in (low, high]
+    private BigInteger oddProduct(int low, int high) {
+        int first = (low + 1) | 1;
+        if (first > high) return BigInteger.ONE;
+        int count = (high - first) / 2 + 1;
+        return count < PARALLEL_THRESHOLD
+                ? ProductTask.multiplyRange(first, count, 2)
+                : pool.invoke(new ProductTask(first, count, 2));
+    }
+
+    // Product of first, first + step, ... (count terms) as a balanced tree
+    private static class ProductTask extends RecursiveTask<BigInteger> {
+        private static final long serialVersionUID = 1L;
+
+        private final long first;
+        private final int count;
+        private final int step;
+
+        ProductTask(long first, int count, int step) {
+            this.first = first;
+            this.count = count;
+            this.step = step;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            if (count < PARALLEL_THRESHOLD) {
+                return multiplyRange(first, count, step);
+            }
+            int half = count / 2;
+            ProductTask left = new ProductTask(first, half, step);
+            left.fork();
+            BigInteger right = new ProductTask(first + (long) half * step, count - half, step).compute();
+            return left.join().multiply(right);
+        }
+
+        static BigInteger multiplyRange(long first, int count, int step) {
+            if (count <= LEAF_SIZE) {
+                // Every factor fits in an int, so pairs can be multiplied as longs
+                BigInteger result = BigInteger.ONE;
+                long value = first;
+                for (int i = 0; i < count; i += 2) {
+                    long pair = i + 1 < count ? value * (value + step) : value;
+                    result = result.multiply(BigInteger.valueOf(pair));
+                    value += 2L * step;
+                }
+                return result;
+            }
+            int half = count / 2;
+            return multiplyRange(first, half, step)
+                    .multiply(multiplyRange(first + (long) half * step, count - half, step));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+import java.math.BigInteger;
+
+// Long factorial that refuses to overflow: calculate() throws instead of wrapping,
+// and calculateExact() switches to BigFactorial once the result leaves the long range.
+public class CheckedFactorial extends Factorial {
+    private final BigFactorial big;
+
+    public CheckedFactorial() {
+        this(new BigFactorial());
+    }
+
+    public CheckedFactorial(BigFactorial big) {
+        this.big = big;
+    }
+
+    // Throws ArithmeticException when n! does not fit in a long (n > 20)
+    @Override
+    public long calculate(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Factorial of a negative number: " + n);
+        }
+        long result = 1;
+        for (int i = 2; i <= n; i++) {
+            result = Math.multiplyExact(result, i);
+        }
+        return result;
+    }
+
+    public BigInteger calculateExact(int n) {
+        try {
+            return BigInteger.valueOf(calculate(n));
+        } catch (ArithmeticException e) {
+            return big.calculate(n);
+        }
+    }
+}
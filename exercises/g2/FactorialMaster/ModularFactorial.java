@@ -0,0 +1,335 @@
+import java.util.Arrays;
+
+// n! mod p and binomial coefficients mod p for a prime p below 2^31.
+//
+// n! for n >= p/2 is reflected through Wilson's theorem ((p-1)! = -1 mod p), so only
+// n < p/2 is ever multiplied out. Those products are served from checkpoints of
+// (i * B)! mod p with B = ceil(sqrt(p/2)), which hold O(sqrt(p)) longs, so a query
+// costs at most B multiplications plus, for the reflected half, one modular inverse.
+//
+// The checkpoints come from the block products h(j) = (jB + 1)(jB + 2)...(jB + B) for
+// j = 0..B. h is a polynomial of degree B in j, and its values at 0..d give those of
+// the product of degree 2d by shifting the sample points with Lagrange interpolation,
+// one convolution each (Bostan-Gaudry-Schost). Doubling from d = 1 takes O(sqrt(p)
+// log p) operations in all, tens of milliseconds for p near 2^31; the table is built
+// on the first query, or up front by warmUp(). The convolutions run as number
+// theoretic transforms over three NTT-friendly primes, combined by the CRT.
+// An optional table of factorials and inverse factorials makes repeated binomial
+// queries O(1).
+public class ModularFactorial {
+    // Below this modulus the checkpoints are simply multiplied out
+    static final long DIRECT_LIMIT = 1 << 16;
+
+    // NTT primes c * 2^k + 1 that all have 3 as a primitive root
+    private static final long[] NTT_PRIMES = {998244353, 167772161, 469762049};
+
+    private final long p;
+    private final int blockSize;
+
+    // checkpoints[i] = (i * blockSize)! mod p for i = 0..blockSize + 1; null until built
+    private volatile long[] checkpoints;
+
+    private final long[] fact;
+    private final long[] invFact;
+
+    public ModularFactorial(long p) {
+        this(p, 0);
+    }
+
+    // Precomputes n! and 1/n! mod p for every n below tableSize
+    public ModularFactorial(long p, int tableSize) {
+        if (p < 2 || p > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Modulus must be a prime below 2^31: " + p);
+        }
+        if (tableSize < 0) {
+            throw new IllegalArgumentException("Table size must not be negative: " + tableSize);
+        }
+        this.p = p;
+        int b = (int) Math.sqrt((double) (p / 2));
+        while ((long) b * b < p / 2) b++;
+        this.blockSize = Math.max(1, b);
+
+        int size = (int) Math.min(tableSize, p);
+        this.fact = new long[size];
+        this.invFact = new long[size];
+        if (size > 0) {
+            fact[0] = 1;
+            for (int i = 1; i < size; i++) {
+                fact[i] = fact[i - 1] * i % p;
+            }
+            invFact[size - 1] = inverse(fact[size - 1]);
+            for (int i = size - 1; i > 0; i--) {
+                invFact[i - 1] = invFact[i] * i % p;
+            }
+        }
+    }
+
+    public long modulus() {
+        return p;
+    }
+
+    // Builds the checkpoints now instead of on the first query
+    public ModularFactorial warmUp() {
+        checkpoints();
+        return this;
+    }
+
+    // n! mod p
+    public long factorial(long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Factorial of a negative number: " + n);
+        }
+        if (n >= p) return 0;
+        if (n < fact.length) return fact[(int) n];
+
+        // Wilson: n! = (-1)^(m+1) / m! with m = p - 1 - n
+        if (p > 2 && n > p / 2) {
+            long m = p - 1 - n;
+            long result = inverse(factorial(m));
+            return (m & 1) == 0 ? (p - result) % p : result;
+        }
+
+        int block = (int) (n / blockSize);
+        long result = checkpoints()[block];
+        for (long i = (long) block * blockSize + 1; i <= n; i++) {
+            result = result * i % p;
+        }
+        return result;
+    }
+
+    // C(n, k) mod p; uses Lucas' theorem once n reaches p
+    public long binomial(long n, long k) {
+        if (k < 0 || k > n) return 0;
+        if (n >= p) {
+            return binomial(n / p, k / p) * binomial(n % p, k % p) % p;
+        }
+        if (n < fact.length) {
+            return fact[(int) n] * invFact[(int) k] % p * invFact[(int) (n - k)] % p;
+        }
+        return factorial(n) * inverse(factorial(k) * factorial(n - k) % p) % p;
+    }
+
+    // Multiplicative inverse by Fermat's little theorem; a must not be a multiple of p
+    public long inverse(long a) {
+        a %= p;
+        if (a < 0) a += p;
+        if (a == 0) {
+            throw new ArithmeticException("0 has no inverse mod " + p);
+        }
+        return powMod(a, p - 2, p);
+    }
+
+    private long[] checkpoints() {
+        long[] table = checkpoints;
+        if (table == null) {
+            synchronized (this) {
+                table = checkpoints;
+                if (table == null) {
+                    checkpoints = table = buildCheckpoints();
+                }
+            }
+        }
+        return table;
+    }
+
+    private long[] buildCheckpoints() {
+        int v = blockSize;
+        long[] table = new long[v + 2];
+        table[0] = 1;
+        if (p < DIRECT_LIMIT) {
+            long value = 1;
+            for (long i = 1; i <= (long) (v + 1) * v; i++) {
+                value = value * (i % p) % p;
+                if (i % v == 0) table[(int) (i / v)] = value;
+            }
+            return table;
+        }
+        long[] blocks = blockProducts(v);
+        for (int j = 0; j <= v; j++) {
+            table[j + 1] = table[j] * blocks[j] % p;
+        }
+        return table;
+    }
+
+    // h(j) = (jv + 1)(jv + 2)...(jv + v) mod p for j = 0..v. Every sample shift below
+    // stays clear of the known points as long as v^2 + 2v < p, which B = sqrt(p/2) meets.
+    private long[] blockProducts(int v) {
+        long[] smallFact = new long[v + 1];
+        long[] smallInvFact = new long[v + 1];
+        smallFact[0] = 1;
+        for (int i = 1; i <= v; i++) {
+            smallFact[i] = smallFact[i - 1] * i % p;
+        }
+        smallInvFact[v] = inverse(smallFact[v]);
+        for (int i = v; i > 0; i--) {
+            smallInvFact[i - 1] = smallInvFact[i] * i % p;
+        }
+
+        long invV = inverse(v);
+        // Values of the degree-d product (vx + 1)...(vx + d) at x = 0..d
+        long[] h = {1, v + 1};
+        int d = 1;
+        for (int bit = 30 - Integer.numberOfLeadingZeros(v); bit >= 0; bit--) {
+            // (vx + 1)...(vx + 2d) = h(x) * h(x + d/v)
+            long shift = d * invV % p;
+            long[] upper = shiftSamples(h, d + 1, smallInvFact);
+            long[] shifted = shiftSamples(h, shift, smallInvFact);
+            long[] shiftedUpper = shiftSamples(h, (shift + d + 1) % p, smallInvFact);
+            long[] doubled = new long[2 * d + 2];
+            for (int i = 0; i <= d; i++) {
+                doubled[i] = h[i] * shifted[i] % p;
+                doubled[d + 1 + i] = upper[i] * shiftedUpper[i] % p;
+            }
+            d *= 2;
+
+            if ((v >> bit & 1) == 1) {
+                // One more factor, vx + d + 1; the d + 2 samples fit degree d + 1
+                for (int i = 0; i <= d + 1; i++) {
+                    doubled[i] = doubled[i] * ((v * (long) i + d + 1) % p) % p;
+                }
+                d++;
+                h = doubled;
+            } else {
+                h = Arrays.copyOf(doubled, d + 1);
+            }
+        }
+        return h;
+    }
+
+    // Given f(0..d) of a polynomial of degree d, returns f(m..m + d) by Lagrange
+    // interpolation. None of m - d..m + d may be 0 mod p.
+    private long[] shiftSamples(long[] f, long m, long[] smallInvFact) {
+        int d = f.length - 1;
+
+        // f(m + k) = prod_{j=0..d}(m + k - j) * sum_i f(i) w(i) / (m + k - i)
+        long[] weights = new long[d + 1];
+        for (int i = 0; i <= d; i++) {
+            long w = f[i] * smallInvFact[i] % p * smallInvFact[d - i] % p;
+            weights[i] = ((d - i) & 1) == 0 ? w : (p - w) % p;
+        }
+        long[] points = new long[2 * d + 1];
+        for (int j = 0; j <= 2 * d; j++) {
+            points[j] = ((m - d + j) % p + p) % p;
+        }
+        long[] inverses = inverseAll(points);
+        long[] sums = convolve(weights, inverses);
+
+        long span = 1;
+        for (int j = 0; j <= d; j++) {
+            span = span * points[j] % p;
+        }
+        long[] result = new long[d + 1];
+        for (int k = 0; k <= d; k++) {
+            result[k] = sums[d + k] * span % p;
+            if (k < d) {
+                // Slide the window of d + 1 factors one step up
+                span = span * points[k + d + 1] % p * inverses[k] % p;
+            }
+        }
+        return result;
+    }
+
+    // Inverses of all values with a single exponentiation
+    private long[] inverseAll(long[] values) {
+        int n = values.length;
+        long[] prefix = new long[n + 1];
+        prefix[0] = 1;
+        for (int i = 0; i < n; i++) {
+            prefix[i + 1] = prefix[i] * values[i] % p;
+        }
+        long[] result = new long[n];
+        long inv = inverse(prefix[n]);
+        for (int i = n - 1; i >= 0; i--) {
+            result[i] = inv * prefix[i] % p;
+            inv = inv * values[i] % p;
+        }
+        return result;
+    }
+
+    // Product of two polynomials mod p. Coefficients below p < 2^31 give exact
+    // products below 2^86 for these lengths, within the product of the three primes.
+    private long[] convolve(long[] a, long[] b) {
+        int length = a.length + b.length - 1;
+        int size = Integer.highestOneBit(length * 2 - 1);
+        long[][] residues = new long[NTT_PRIMES.length][];
+        for (int k = 0; k < NTT_PRIMES.length; k++) {
+            long q = NTT_PRIMES[k];
+            long[] fa = new long[size];
+            long[] fb = new long[size];
+            for (int i = 0; i < a.length; i++) fa[i] = a[i] % q;
+            for (int i = 0; i < b.length; i++) fb[i] = b[i] % q;
+            ntt(fa, q, false);
+            ntt(fb, q, false);
+            for (int i = 0; i < size; i++) fa[i] = fa[i] * fb[i] % q;
+            ntt(fa, q, true);
+            residues[k] = fa;
+        }
+
+        // Garner: x = r0 + q0 * t1 + q0 * q1 * t2
+        long q0 = NTT_PRIMES[0];
+        long q1 = NTT_PRIMES[1];
+        long q2 = NTT_PRIMES[2];
+        long q0InvQ1 = powMod(q0 % q1, q1 - 2, q1);
+        long q01InvQ2 = powMod(q0 % q2 * (q1 % q2) % q2, q2 - 2, q2);
+        long q01ModP = q0 % p * (q1 % p) % p;
+        long[] result = new long[length];
+        for (int i = 0; i < length; i++) {
+            long r0 = residues[0][i];
+            long t1 = (residues[1][i] - r0 % q1 + q1) % q1 * q0InvQ1 % q1;
+            long x01 = r0 + q0 * t1;
+            long t2 = (residues[2][i] - x01 % q2 + q2) % q2 * q01InvQ2 % q2;
+            result[i] = (x01 % p + q01ModP * t2) % p;
+        }
+        return result;
+    }
+
+    // In-place iterative number theoretic transform mod q; size is a power of two
+    private static void ntt(long[] a, long q, boolean invert) {
+        int n = a.length;
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1) j ^= bit;
+            j ^= bit;
+            if (i < j) {
+                long t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+        }
+        for (int len = 2; len <= n; len <<= 1) {
+            long root = powMod(3, (q - 1) / len, q);
+            if (invert) root = powMod(root, q - 2, q);
+            int half = len >> 1;
+            long[] twiddles = new long[half];
+            twiddles[0] = 1;
+            for (int k = 1; k < half; k++) {
+                twiddles[k] = twiddles[k - 1] * root % q;
+            }
+            for (int i = 0; i < n; i += len) {
+                for (int k = 0; k < half; k++) {
+                    long u = a[i + k];
+                    long w = a[i + k + half] * twiddles[k] % q;
+                    a[i + k] = u + w < q ? u + w : u + w - q;
+                    a[i + k + half] = u - w >= 0 ? u - w : u - w + q;
+                }
+            }
+        }
+        if (invert) {
+            long nInv = powMod(n, q - 2, q);
+            for (int i = 0; i < n; i++) {
+                a[i] = a[i] * nInv % q;
+            }
+        }
+    }
+
+    private static long powMod(long base, long exponent, long modulus) {
+        long result = 1;
+        base %= modulus;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) result = result * base % modulus;
+            base = base * base % modulus;
+            exponent >>= 1;
+        }
+        return result;
+    }
+}
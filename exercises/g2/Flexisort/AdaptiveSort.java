@@ -0,0 +1,75 @@
+public class AdaptiveSort extends Sorter {
+    // Size limits used to pick a strategy; tuned for int[] on a typical desktop CPU
+    static final int SMALL_THRESHOLD = 32;
+    static final int RADIX_THRESHOLD = 1 << 12;
+    static final int PARALLEL_THRESHOLD = 1 << 17;
+
+    // Inputs with at most this many descents are treated as nearly sorted
+    static final int NEARLY_SORTED_DESCENTS = 16;
+
+    private final Sorter introSort = new IntroSort();
+    private final Sorter radixSort = new RadixSort();
+    private final Sorter mergeSort = new ParallelMergeSort();
+
+    @Override
+    public void sort() {
+        int[] arr = getArray();
+        int n = arr.length;
+        if (n < 2) return;
+
+        if (n <= SMALL_THRESHOLD) {
+            IntroSort.insertionSort(arr, 0, n - 1);
+            return;
+        }
+
+        // Measure presortedness by counting descents and ascents in one pass
+        int descents = 0;
+        int ascents = 0;
+        for (int i = 1; i < n; i++) {
+            if (arr[i - 1] > arr[i]) {
+                descents++;
+            } else if (arr[i - 1] < arr[i]) {
+                ascents++;
+            }
+        }
+
+        if (descents == 0) return;
+        if (ascents == 0) {
+            reverse(arr);
+            return;
+        }
+
+        // The delegates are reused, so they must not keep the caller's array alive
+        Sorter sorter = choose(n, descents);
+        sorter.setArray(arr);
+        try {
+            sorter.sort();
+        } finally {
+            sorter.setArray(null);
+        }
+    }
+
+    private Sorter choose(int n, int descents) {
+        boolean parallel = Runtime.getRuntime().availableProcessors() > 1;
+
+        // Merge sort skips merges of ordered halves, so nearly sorted input stays cheap
+        if (descents <= NEARLY_SORTED_DESCENTS) {
+            return mergeSort;
+        }
+        if (n >= PARALLEL_THRESHOLD && parallel) {
+            return mergeSort;
+        }
+        if (n >= RADIX_THRESHOLD) {
+            return radixSort;
+        }
+        return introSort;
+    }
+
+    private static void reverse(int[] arr) {
+        for (int i = 0, j = arr.length - 1; i < j; i++, j--) {
+            int temp = arr[i];
+            arr[i] = arr[j];
+            arr[j] = temp;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+public class IntroSort extends Sorter {
+    // Below this size insertion sort beats partitioning
+    static final int INSERTION_THRESHOLD = 32;
+
+    @Override
+    public void sort() {
+        int[] arr = getArray();
+        sort(arr, 0, arr.length);
+    }
+
+    // Sorts arr[from, to) in place
+    static void sort(int[] arr, int from, int to) {
+        int n = to - from;
+        if (n < 2) return;
+
+        // Fall back to heap sort once recursion goes deeper than ~2*log2(n)
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(n));
+        introSort(arr, from, to - 1, depthLimit);
+    }
+
+    private static void introSort(int[] arr, int low, int high, int depthLimit) {
+        while (high - low + 1 > INSERTION_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(arr, low, high);
+                return;
+            }
+
+            // Dual-pivot partition: [< p1][p1 <= x <= p2][> p2]
+            int third = (high - low) / 3;
+            if (arr[low + third] > arr[high - third]) {
+                swap(arr, low + third, high - third);
+            }
+            swap(arr, low, low + third);
+            swap(arr, high, high - third);
+            int p1 = arr[low];
+            int p2 = arr[high];
+
+            int lt = low + 1;
+            int gt = high - 1;
+            int i = lt;
+            while (i <= gt) {
+                int value = arr[i];
+                if (value < p1) {
+                    swap(arr, i++, lt++);
+                } else if (value > p2) {
+                    while (arr[gt] > p2 && i < gt) gt--;
+                    swap(arr, i, gt--);
+                    if (arr[i] < p1) {
+                        swap(arr, i, lt++);
+                    }
+                    i++;
+                } else {
+                    i++;
+                }
+            }
+            swap(arr, low, --lt);
+            swap(arr, high, ++gt);
+
+            introSort(arr, low, lt - 1, depthLimit);
+            introSort(arr, gt + 1, high, depthLimit);
+
+            // Only recurse into the middle part when the pivots differ
+            if (p1 == p2) return;
+            low = lt + 1;
+            high = gt - 1;
+        }
+        insertionSort(arr, low, high);
+    }
+
+    // Sorts arr[low, high] (inclusive) in place
+    static void insertionSort(int[] arr, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            int key = arr[i];
+            int j = i - 1;
+            while (j >= low && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+    }
+
+    private static void heapSort(int[] arr, int low, int high) {
+        int n = high - low + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, low, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(arr, low, low + end);
+            siftDown(arr, low, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] arr, int offset, int i, int n) {
+        int value = arr[offset + i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && arr[offset + child + 1] > arr[offset + child]) {
+                child++;
+            }
+            if (arr[offset + child] <= value) break;
+            arr[offset + i] = arr[offset + child];
+            i = child;
+        }
+        arr[offset + i] = value;
+    }
+
+    private static void swap(int[] arr, int i, int j) {
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+}
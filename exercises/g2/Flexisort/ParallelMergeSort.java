@@ -0,0 +1,74 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class ParallelMergeSort extends Sorter {
+    // Ranges smaller than this are sorted sequentially by one worker
+    static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    private final ForkJoinPool pool;
+
+    public ParallelMergeSort() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelMergeSort(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void sort() {
+        int[] arr = getArray();
+        if (arr.length < 2) return;
+
+        int[] buffer = new int[arr.length];
+        pool.invoke(new SortTask(arr, buffer, 0, arr.length));
+    }
+
+    private static class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] arr;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+
+        SortTask(int[] arr, int[] buffer, int from, int to) {
+            this.arr = arr;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                IntroSort.sort(arr, from, to);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new SortTask(arr, buffer, from, mid), new SortTask(arr, buffer, mid, to));
+
+            // Halves are already in order, which makes presorted input O(n)
+            if (arr[mid - 1] <= arr[mid]) return;
+            merge(arr, buffer, from, mid, to);
+        }
+    }
+
+    // Merges arr[from, mid) and arr[mid, to), using buffer[from, mid) as scratch space
+    static void merge(int[] arr, int[] buffer, int from, int mid, int to) {
+        System.arraycopy(arr, from, buffer, from, mid - from);
+
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            if (buffer[i] <= arr[j]) {
+                arr[k++] = buffer[i++];
+            } else {
+                arr[k++] = arr[j++];
+            }
+        }
+        while (i < mid) {
+            arr[k++] = buffer[i++];
+        }
+    }
+}
@@ -0,0 +1,51 @@
+public class RadixSort extends Sorter {
+    @Override
+    public void sort() {
+        int[] arr = getArray();
+        int n = arr.length;
+        if (n < 2) return;
+
+        int[] buffer = new int[n];
+        int[][] counts = new int[4][257];
+
+        // Build all four byte histograms in a single pass.
+        // The sign bit is flipped so negatives order before positives.
+        for (int value : arr) {
+            int key = value ^ Integer.MIN_VALUE;
+            counts[0][(key & 0xFF) + 1]++;
+            counts[1][((key >>> 8) & 0xFF) + 1]++;
+            counts[2][((key >>> 16) & 0xFF) + 1]++;
+            counts[3][(key >>> 24) + 1]++;
+        }
+
+        int[] src = arr;
+        int[] dst = buffer;
+        for (int pass = 0; pass < 4; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * 8;
+
+            // Every key shares this byte, so the pass would not move anything
+            if (count[((src[0] ^ Integer.MIN_VALUE) >>> shift & 0xFF) + 1] == n) {
+                continue;
+            }
+
+            // Turn the histogram into starting offsets
+            for (int b = 0; b < 256; b++) {
+                count[b + 1] += count[b];
+            }
+            for (int i = 0; i < n; i++) {
+                int value = src[i];
+                dst[count[(value ^ Integer.MIN_VALUE) >>> shift & 0xFF]++] = value;
+            }
+
+            int[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+
+        // After an odd number of passes the result sits in the buffer
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+import java.util.Arrays;
+
+// Hand-written HTML tag tokenizer fed one character at a time, so input can arrive in
+// any number of chunks. It reports opening and closing tags as numeric tag ids;
+// comments, declarations, processing instructions, self-closing tags and void
+// elements are skipped. Tag names are matched case-insensitively.
+class HTMLTagScanner {
+    interface TagHandler {
+        // Return false to stop scanning
+        boolean open(long tagId, long offset);
+
+        boolean close(long tagId, long offset);
+    }
+
+    private enum State {
+        TEXT, TAG_OPEN, OPEN_NAME, CLOSE_START, CLOSE_NAME, CLOSE_REST,
+        ATTRIBUTES, SLASH, QUOTED, BANG, COMMENT, DECLARATION
+    }
+
+    // Names of up to 10 characters from [a-z0-9-_:.] are packed 6 bits per char into
+    // a positive id, so the common case needs no lookup and no allocation
+    private static final int PACKED_LENGTH = 10;
+
+    // Longer or unusual names get a negative id derived from a 64-bit hash of the
+    // chars, so separate scanners (e.g. per chunk) agree on it without sharing state.
+    // Only two different names colliding in 63 bits would make the ids order-dependent.
+
+    private static final long[] VOID_ELEMENTS = {
+        pack("area"), pack("base"), pack("br"), pack("col"), pack("embed"), pack("hr"), pack("img"),
+        pack("input"), pack("link"), pack("meta"), pack("param"), pack("source"), pack("track"), pack("wbr")
+    };
+
+    private final TagHandler handler;
+
+    private State state = State.TEXT;
+    private long tagStart = -1;
+    private long tagId;
+    private char quote;
+    private int dashes;
+
+    // Name being read: packed form while it fits, raw chars as a fallback
+    private long packed;
+    private int nameLength;
+    private boolean packable;
+    private char[] name = new char[32];
+
+    // Hashed names seen since the last reset, to tell apart the rare names whose
+    // hashes collide; open addressing on the id
+    private long[] longIds = new long[16];
+    private char[][] longNames = new char[16][];
+    private int longCount;
+
+    HTMLTagScanner(TagHandler handler) {
+        this.handler = handler;
+    }
+
+    // Start of the tag currently being read, or -1 between tags
+    long tagStart() {
+        return state == State.TEXT ? -1 : tagStart;
+    }
+
+    boolean inTag() {
+        return state != State.TEXT;
+    }
+
+    void reset() {
+        state = State.TEXT;
+        tagStart = -1;
+        if (longCount > 0) {
+            Arrays.fill(longNames, null);
+            longCount = 0;
+        }
+    }
+
+    boolean feed(char c, long offset) {
+        switch (state) {
+            case TEXT:
+                if (c == '<') {
+                    state = State.TAG_OPEN;
+                    tagStart = offset;
+                }
+                return true;
+
+            case TAG_OPEN:
+                if (isNameStart(c)) {
+                    startName(c);
+                    state = State.OPEN_NAME;
+                } else if (c == '/') {
+                    state = State.CLOSE_START;
+                } else if (c == '!') {
+                    dashes = 0;
+                    state = State.BANG;
+                } else if (c == '?') {
+                    state = State.DECLARATION;
+                } else {
+                    // A bare '<' in text, e.g. "a < b"
+                    return rescan(c, offset);
+                }
+                return true;
+
+            case OPEN_NAME:
+                if (isNameEnd(c)) {
+                    long id = endName();
+                    if (c == '>') {
+                        state = State.TEXT;
+                        return isVoid(id) || handler.open(id, tagStart);
+                    }
+                    state = c == '/' ? State.SLASH : State.ATTRIBUTES;
+                    tagId = id;
+                } else {
+                    appendName(c);
+                }
+                return true;
+
+            case ATTRIBUTES:
+                if (c == '>') {
+                    state = State.TEXT;
+                    return isVoid(tagId) || handler.open(tagId, tagStart);
+                } else if (c == '/') {
+                    state = State.SLASH;
+                } else if (c == '"' || c == '\'') {
+                    quote = c;
+                    state = State.QUOTED;
+                }
+                return true;
+
+            case SLASH:
+                if (c == '>') {
+                    // Self-closing tag: nothing to match
+                    state = State.TEXT;
+                    return true;
+                }
+                state = State.ATTRIBUTES;
+                return feed(c, offset);
+
+            case QUOTED:
+                if (c == quote) {
+                    state = State.ATTRIBUTES;
+                }
+                return true;
+
+            case CLOSE_START:
+                if (isNameStart(c)) {
+                    startName(c);
+                    state = State.CLOSE_NAME;
+                    return true;
+                }
+                return rescan(c, offset);
+
+            case CLOSE_NAME:
+                if (isNameEnd(c)) {
+                    tagId = endName();
+                    if (c == '>') {
+                        state = State.TEXT;
+                        return isVoid(tagId) || handler.close(tagId, tagStart);
+                    }
+                    state = State.CLOSE_REST;
+                } else {
+                    appendName(c);
+                }
+                return true;
+
+            case CLOSE_REST:
+                if (c == '>') {
+                    state = State.TEXT;
+                    return isVoid(tagId) || handler.close(tagId, tagStart);
+                }
+                return true;
+
+            case BANG:
+                // "<!--" opens a comment, anything else is a declaration like <!DOCTYPE>
+                if (c == '-' && dashes < 2) {
+                    if (++dashes == 2) {
+                        dashes = 0;
+                        state = State.COMMENT;
+                    }
+                    return true;
+                }
+                state = State.DECLARATION;
+                return feed(c, offset);
+
+            case COMMENT:
+                if (c == '-') {
+                    dashes++;
+                } else if (c == '>' && dashes >= 2) {
+                    state = State.TEXT;
+                } else {
+                    dashes = 0;
+                }
+                return true;
+
+            case DECLARATION:
+                if (c == '>') {
+                    state = State.TEXT;
+                }
+                return true;
+
+            default:
+                return true;
+        }
+    }
+
+    // The '<' turned out to be text; the current char may itself start a tag
+    private boolean rescan(char c, long offset) {
+        state = State.TEXT;
+        return feed(c, offset);
+    }
+
+    private void startName(char c) {
+        packed = 0;
+        nameLength = 0;
+        packable = true;
+        appendName(c);
+    }
+
+    private void appendName(char c) {
+        char lower = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+
+        int code = code(lower);
+        if (code == 0 || nameLength >= PACKED_LENGTH) {
+            packable = false;
+        } else if (packable) {
+            packed = packed << 6 | code;
+        }
+
+        if (nameLength == name.length) {
+            name = Arrays.copyOf(name, nameLength * 2);
+        }
+        name[nameLength++] = lower;
+    }
+
+    private long endName() {
+        if (packable) return packed;
+
+        for (long salt = 0; ; salt++) {
+            long id = -1 - (hash(name, nameLength, salt) & Long.MAX_VALUE);
+            int mask = longIds.length - 1;
+            for (int slot = (int) id & mask; ; slot = (slot + 1) & mask) {
+                char[] known = longNames[slot];
+                if (known == null) {
+                    insertLongName(slot, id);
+                    return id;
+                }
+                if (longIds[slot] == id) {
+                    if (Arrays.equals(known, 0, known.length, name, 0, nameLength)) return id;
+                    // Another name has this hash: try the next salt
+                    break;
+                }
+            }
+        }
+    }
+
+    private void insertLongName(int slot, long id) {
+        longIds[slot] = id;
+        longNames[slot] = Arrays.copyOf(name, nameLength);
+        if (++longCount * 2 > longIds.length) {
+            long[] oldIds = longIds;
+            char[][] oldNames = longNames;
+            longIds = new long[oldIds.length * 2];
+            longNames = new char[oldIds.length * 2][];
+            int mask = longIds.length - 1;
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldNames[i] == null) continue;
+                int s = (int) oldIds[i] & mask;
+                while (longNames[s] != null) s = (s + 1) & mask;
+                longIds[s] = oldIds[i];
+                longNames[s] = oldNames[i];
+            }
+        }
+    }
+
+    // FNV-1a with a murmur finalizer
+    private static long hash(char[] chars, int length, long salt) {
+        long h = 0xcbf29ce484222325L ^ salt;
+        for (int i = 0; i < length; i++) {
+            h = (h ^ chars[i]) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static boolean isVoid(long id) {
+        for (long voidId : VOID_ELEMENTS) {
+            if (voidId == id) return true;
+        }
+        return false;
+    }
+
+    private static boolean isNameStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isNameEnd(char c) {
+        return c == '>' || c == '/' || c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+    }
+
+    // 6-bit code of a lowercased name char, or 0 if it cannot be packed
+    private static int code(char c) {
+        if (c >= 'a' && c <= 'z') return c - 'a' + 1;
+        if (c >= '0' && c <= '9') return c - '0' + 27;
+        switch (c) {
+            case '-': return 37;
+            case '_': return 38;
+            case ':': return 39;
+            case '.': return 40;
+            default: return 0;
+        }
+    }
+
+    private static long pack(String name) {
+        long id = 0;
+        for (int i = 0; i < name.length(); i++) {
+            id = id << 6 | code(name.charAt(i));
+        }
+        return id;
+    }
+}
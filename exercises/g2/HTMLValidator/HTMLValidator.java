@@ -1,12 +1,14 @@
 import java.util.Stack;
 
 public class HTMLValidator {
+    // Compiled once and shared; Pattern is immutable and thread-safe
+    private static final java.util.regex.Pattern TAG_PATTERN =
+        java.util.regex.Pattern.compile("<(/?)(html|body|div|p|b|i|h1|h2)>");
+
     public boolean validateHTML(String html) {
         Stack<String> stack = new Stack<>();
 
-        String tagPattern = "<(/?)(html|body|div|p|b|i|h1|h2)>";
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(tagPattern);
-        java.util.regex.Matcher matcher = pattern.matcher(html);
+        java.util.regex.Matcher matcher = TAG_PATTERN.matcher(html);
 
         while (matcher.find()) {
             String slash = matcher.group(1); 
@@ -0,0 +1,271 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Chunked HTML validation on a fork/join pool. Each chunk is reduced to a summary of
+// its unmatched closing tags followed by its unmatched opening tags; adjacent summaries
+// combine associatively by matching the left opens against the right closes. The
+// result, including the error offset, is the same as StreamingHTMLValidator's.
+//
+// A chunk must start between tags. Chunk boundaries are moved forward to just after
+// the next '>', or onto the next '<'; a look-back of LOOK_BACK chars first checks for
+// an unclosed "<!--", and if there is one the boundary moves past the next "-->".
+// The guess can still be wrong for a boundary inside a quoted attribute or a
+// comment longer than the look-back. When the previous chunk shows it was wrong,
+// the chunk after it is scanned again on the calling thread. Input built so that
+// every guess fails therefore costs about two sequential passes: no worse than
+// StreamingHTMLValidator twice over, but without any parallel speed-up.
+public class ParallelHTMLValidator {
+    // Chunk length; inputs that fit in one chunk are validated sequentially
+    static final int CHUNK_SIZE = 1 << 20;
+
+    // How far before a boundary to look for an unclosed comment
+    static final int LOOK_BACK = 1 << 12;
+
+    private final ForkJoinPool pool;
+
+    public ParallelHTMLValidator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelHTMLValidator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public StreamingHTMLValidator.Result validate(CharSequence html) {
+        if (html.length() <= CHUNK_SIZE) {
+            return new StreamingHTMLValidator().validate(html);
+        }
+        return validate(html::charAt, html.length());
+    }
+
+    // Validates the remaining bytes of the buffer without moving its position
+    public StreamingHTMLValidator.Result validate(ByteBuffer bytes) {
+        int from = bytes.position();
+        int length = bytes.remaining();
+        if (length <= CHUNK_SIZE) {
+            return new StreamingHTMLValidator().validate(bytes);
+        }
+        return validate(i -> (char) (bytes.get(from + i) & 0xFF), length);
+    }
+
+    private interface Source {
+        char charAt(int index);
+    }
+
+    private StreamingHTMLValidator.Result validate(Source source, int length) {
+        int chunks = (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        Summary[] summaries = new Summary[chunks];
+        pool.invoke(new ChunkTask(source, length, summaries, 0, chunks));
+
+        // Combining only walks the tag lists, so it is cheap enough to do in order
+        Summary total = summaries[0];
+        for (int k = 1; k < chunks && total.error == StreamingHTMLValidator.Error.NONE; k++) {
+            Summary next = summaries[k];
+            if (total.end != next.start) {
+                // The previous chunk ended inside a tag or comment beyond next's start
+                next = Summary.scan(source, length, total.end, Math.max(total.end, next.nominalEnd));
+            }
+            total = Summary.combine(total, next);
+        }
+        return total.result(length);
+    }
+
+    // First offset at or after the nominal boundary that is probably between tags:
+    // just past the next '>' or on the next '<', whichever comes first
+    private static int chunkStart(Source source, int length, long boundary) {
+        if (boundary == 0 || boundary >= length) return (int) Math.min(boundary, length);
+        int from = (int) boundary;
+        int to = (int) Math.min(length, boundary + CHUNK_SIZE);
+        if (insideComment(source, Math.max(0, from - LOOK_BACK), from)) {
+            for (int i = from; i + 2 < to; i++) {
+                if (source.charAt(i) == '-' && source.charAt(i + 1) == '-' && source.charAt(i + 2) == '>') {
+                    return i + 3;
+                }
+            }
+            return from;
+        }
+        for (int i = from; i < to; i++) {
+            char c = source.charAt(i);
+            if (c == '<') return i;
+            if (c == '>') return i + 1;
+        }
+        return from;
+    }
+
+    // Whether the last "<!--" in [from, to) has no "-->" after it. A guess like the
+    // rest: "<!-->" and the like are taken as closed, and the scan does not know
+    // whether the "<!--" itself sat inside an attribute.
+    private static boolean insideComment(Source source, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            char c = source.charAt(i);
+            if (c == '>' && i - 2 >= from && source.charAt(i - 1) == '-' && source.charAt(i - 2) == '-') {
+                return false;
+            }
+            if (c == '<' && i + 3 < to && source.charAt(i + 1) == '!'
+                    && source.charAt(i + 2) == '-' && source.charAt(i + 3) == '-') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Source source;
+        private final int length;
+        private final Summary[] summaries;
+        private final int fromChunk;
+        private final int toChunk;
+
+        ChunkTask(Source source, int length, Summary[] summaries, int fromChunk, int toChunk) {
+            this.source = source;
+            this.length = length;
+            this.summaries = summaries;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                long boundary = (long) fromChunk * CHUNK_SIZE;
+                int start = chunkStart(source, length, boundary);
+                int end = chunkStart(source, length, boundary + CHUNK_SIZE);
+                summaries[fromChunk] = Summary.scan(source, length, start, end);
+                return;
+            }
+            int mid = (fromChunk + toChunk) >>> 1;
+            invokeAll(new ChunkTask(source, length, summaries, fromChunk, mid),
+                    new ChunkTask(source, length, summaries, mid, toChunk));
+        }
+    }
+
+    // Tag ids with the offsets of their '<', in document order
+    private static final class TagList {
+        long[] ids = new long[8];
+        long[] offsets = new long[8];
+        int size;
+
+        void add(long id, long offset) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            ids[size] = id;
+            offsets[size++] = offset;
+        }
+
+        void addAll(TagList other, int from) {
+            for (int i = from; i < other.size; i++) {
+                add(other.ids[i], other.offsets[i]);
+            }
+        }
+    }
+
+    private static final class Summary implements HTMLTagScanner.TagHandler {
+        // Input span covered: [start, end); end may run past nominalEnd to finish a tag
+        int start;
+        int end;
+        int nominalEnd;
+
+        TagList closes = new TagList();
+        TagList opens = new TagList();
+
+        // First mismatched close, or UNTERMINATED_TAG when the input ends inside a tag
+        StreamingHTMLValidator.Error error = StreamingHTMLValidator.Error.NONE;
+        long errorOffset = -1;
+
+        // Scans from start, which must be outside any tag, up to the first point
+        // at or after nominalEnd that is outside a tag again
+        static Summary scan(Source source, int length, int start, int nominalEnd) {
+            Summary summary = new Summary();
+            summary.start = start;
+            summary.nominalEnd = nominalEnd;
+
+            HTMLTagScanner scanner = new HTMLTagScanner(summary);
+            int i = start;
+            while (i < length && (i < nominalEnd || scanner.inTag())) {
+                if (!scanner.feed(source.charAt(i), i)) break;
+                i++;
+            }
+            summary.end = i;
+
+            if (summary.error == StreamingHTMLValidator.Error.NONE && scanner.inTag()) {
+                summary.error = StreamingHTMLValidator.Error.UNTERMINATED_TAG;
+                summary.errorOffset = scanner.tagStart();
+            }
+            return summary;
+        }
+
+        // right must start where left ends
+        static Summary combine(Summary left, Summary right) {
+            // Nothing after an error matters
+            if (left.error != StreamingHTMLValidator.Error.NONE) {
+                return left;
+            }
+
+            Summary merged = new Summary();
+            merged.start = left.start;
+            merged.end = right.end;
+            merged.closes = left.closes;
+
+            // Right closes meet left opens innermost first
+            TagList opens = left.opens;
+            int open = opens.size;
+            int i = 0;
+            for (; i < right.closes.size && open > 0; i++) {
+                if (opens.ids[open - 1] != right.closes.ids[i]) {
+                    merged.error = StreamingHTMLValidator.Error.MISMATCHED_CLOSE;
+                    merged.errorOffset = right.closes.offsets[i];
+                    return merged;
+                }
+                open--;
+            }
+
+            // Whatever is left over is unmatched on the combined span as well
+            merged.closes.addAll(right.closes, i);
+            opens.size = open;
+            opens.addAll(right.opens, 0);
+            merged.opens = opens;
+            merged.error = right.error;
+            merged.errorOffset = right.errorOffset;
+            return merged;
+        }
+
+        StreamingHTMLValidator.Result result(int length) {
+            if (closes.size > 0) {
+                return new StreamingHTMLValidator.Result(StreamingHTMLValidator.Error.UNEXPECTED_CLOSE, closes.offsets[0]);
+            }
+            if (error != StreamingHTMLValidator.Error.NONE) {
+                return new StreamingHTMLValidator.Result(error, errorOffset);
+            }
+            return opens.size == 0
+                    ? StreamingHTMLValidator.Result.VALID
+                    : new StreamingHTMLValidator.Result(StreamingHTMLValidator.Error.UNCLOSED_TAG, length);
+        }
+
+        @Override
+        public boolean open(long tagId, long offset) {
+            opens.add(tagId, offset);
+            return true;
+        }
+
+        @Override
+        public boolean close(long tagId, long offset) {
+            if (opens.size == 0) {
+                closes.add(tagId, offset);
+                return true;
+            }
+            if (opens.ids[opens.size - 1] != tagId) {
+                error = StreamingHTMLValidator.Error.MISMATCHED_CLOSE;
+                errorOffset = offset;
+                return false;
+            }
+            opens.size--;
+            return true;
+        }
+    }
+}
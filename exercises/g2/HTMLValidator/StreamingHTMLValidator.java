@@ -0,0 +1,143 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Single-pass HTML tag validator over a Reader, ByteBuffer or CharSequence. Any tag
+// name is accepted; open tags are tracked as numeric ids on a primitive stack, and
+// the first problem is reported with its offset (chars for text, bytes for buffers).
+// An instance reuses its buffers between calls and is not thread-safe.
+public class StreamingHTMLValidator {
+    public enum Error { NONE, UNEXPECTED_CLOSE, MISMATCHED_CLOSE, UNCLOSED_TAG, UNTERMINATED_TAG }
+
+    public static final class Result {
+        static final Result VALID = new Result(Error.NONE, -1);
+
+        private final Error error;
+        private final long offset;
+
+        Result(Error error, long offset) {
+            this.error = error;
+            this.offset = offset;
+        }
+
+        public boolean isValid() {
+            return error == Error.NONE;
+        }
+
+        public Error error() {
+            return error;
+        }
+
+        // Offset of the offending tag's '<'; for UNCLOSED_TAG, the end of the input
+        public long offset() {
+            return offset;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Result)) return false;
+            Result other = (Result) o;
+            return error == other.error && offset == other.offset;
+        }
+
+        @Override
+        public int hashCode() {
+            return error.hashCode() * 31 + Long.hashCode(offset);
+        }
+
+        @Override
+        public String toString() {
+            return isValid() ? "valid" : error + " at " + offset;
+        }
+    }
+
+    private final HTMLTagScanner scanner = new HTMLTagScanner(new HTMLTagScanner.TagHandler() {
+        @Override
+        public boolean open(long tagId, long offset) {
+            return push(tagId);
+        }
+
+        @Override
+        public boolean close(long tagId, long offset) {
+            return pop(tagId, offset);
+        }
+    });
+    private final char[] buffer = new char[8192];
+
+    private long[] stack = new long[64];
+    private int depth;
+    private Result failure;
+
+    public Result validate(CharSequence html) {
+        start();
+        for (int i = 0; i < html.length(); i++) {
+            if (!scanner.feed(html.charAt(i), i)) return failure;
+        }
+        return finish(html.length());
+    }
+
+    // Reads until the end of the stream; the reader is not closed
+    public Result validate(Reader reader) throws IOException {
+        start();
+        long offset = 0;
+        int read;
+        while ((read = reader.read(buffer, 0, buffer.length)) != -1) {
+            for (int i = 0; i < read; i++) {
+                if (!scanner.feed(buffer[i], offset + i)) return failure;
+            }
+            offset += read;
+        }
+        return finish(offset);
+    }
+
+    // Validates the remaining bytes of the buffer without moving its position. Tag
+    // syntax is ASCII, so UTF-8 content can be scanned byte by byte.
+    public Result validate(ByteBuffer bytes) {
+        start();
+        int from = bytes.position();
+        int to = bytes.limit();
+        for (int i = from; i < to; i++) {
+            if (!scanner.feed((char) (bytes.get(i) & 0xFF), i - from)) return failure;
+        }
+        return finish(to - from);
+    }
+
+    public boolean validateHTML(String html) {
+        return validate(html).isValid();
+    }
+
+    private boolean push(long tagId) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = tagId;
+        return true;
+    }
+
+    private boolean pop(long tagId, long offset) {
+        if (depth == 0) {
+            failure = new Result(Error.UNEXPECTED_CLOSE, offset);
+            return false;
+        }
+        if (stack[depth - 1] != tagId) {
+            failure = new Result(Error.MISMATCHED_CLOSE, offset);
+            return false;
+        }
+        depth--;
+        return true;
+    }
+
+    private void start() {
+        scanner.reset();
+        depth = 0;
+        failure = null;
+    }
+
+    private Result finish(long end) {
+        if (scanner.inTag()) {
+            return new Result(Error.UNTERMINATED_TAG, scanner.tagStart());
+        }
+        return depth == 0 ? Result.VALID : new Result(Error.UNCLOSED_TAG, end);
+    }
+}
@@ -0,0 +1,197 @@
+import java.util.Arrays;
+
+// 64-bit prime search. Small numbers are answered from a sieve, larger ones go through
+// trial division by the first few primes and then a deterministic Miller-Rabin test
+// whose witness set is proven correct for every n below 2^64.
+public class LongPrimes {
+    // Largest prime that fits in a long
+    public static final long MAX_PRIME = 9223372036854775783L;
+
+    static final int SIEVE_LIMIT = 1 << 16;
+
+    // Sinclair's bases: deterministic for all 64-bit n
+    private static final long[] WITNESSES = {2, 325, 9375, 28178, 450775, 9780504, 1795265022};
+
+    // Above this, a * b for a, b < n can overflow a long
+    private static final long DIRECT_MULTIPLY_LIMIT = 3037000499L;
+
+    // Bit i is set when the odd number 2i + 1 is composite
+    private static final long[] COMPOSITE = new long[SIEVE_LIMIT / 128];
+
+    // Primes used for trial division before Miller-Rabin
+    private static final int[] SMALL_PRIMES;
+
+    static {
+        COMPOSITE[0] |= 1L; // 1 is not prime
+        for (int p = 3; p * p < SIEVE_LIMIT; p += 2) {
+            if (isCompositeOdd(p)) continue;
+            for (int m = p * p; m < SIEVE_LIMIT; m += 2 * p) {
+                COMPOSITE[m >>> 7] |= 1L << (m >>> 1);
+            }
+        }
+
+        int[] primes = new int[64];
+        int count = 0;
+        for (int p = 2; count < primes.length; p++) {
+            if (isPrimeBelowLimit(p)) {
+                primes[count++] = p;
+            }
+        }
+        SMALL_PRIMES = primes;
+    }
+
+    public static boolean isPrime(long n) {
+        if (n < SIEVE_LIMIT) {
+            return n >= 2 && isPrimeBelowLimit((int) n);
+        }
+        for (int p : SMALL_PRIMES) {
+            if (n % p == 0) return false;
+        }
+        return millerRabin(n);
+    }
+
+    // Smallest prime strictly greater than n
+    public static long nextPrime(long n) {
+        if (n < 2) return 2;
+        if (n < 3) return 3;
+        if (n >= MAX_PRIME) {
+            throw new ArithmeticException("No prime above " + n + " fits in a long");
+        }
+
+        // Walk the 6k - 1 / 6k + 1 candidates only
+        long candidate = n + 1;
+        long residue = candidate % 6;
+        if (residue == 0) {
+            candidate += 1;
+        } else if (residue > 1 && residue < 5) {
+            candidate += 5 - residue;
+        }
+
+        while (!isPrime(candidate)) {
+            candidate += candidate % 6 == 5 ? 2 : 4;
+        }
+        return candidate;
+    }
+
+    // nextPrime for every element, computed in parallel; result[i] belongs to ns[i]
+    public static long[] nextPrimes(long[] ns) {
+        return Arrays.stream(ns).parallel().map(LongPrimes::nextPrime).toArray();
+    }
+
+    static boolean isPrimeBelowLimit(int n) {
+        if (n == 2) return true;
+        if ((n & 1) == 0) return false;
+        return !isCompositeOdd(n);
+    }
+
+    private static boolean isCompositeOdd(int n) {
+        return (COMPOSITE[n >>> 7] & (1L << (n >>> 1))) != 0;
+    }
+
+    // n must be odd and above every witness
+    private static boolean millerRabin(long n) {
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>>= s;
+
+        if (n < DIRECT_MULTIPLY_LIMIT) {
+            for (long a : WITNESSES) {
+                if (!passesDirect(a % n, d, s, n)) return false;
+            }
+            return true;
+        }
+
+        Montgomery mont = new Montgomery(n);
+        for (long a : WITNESSES) {
+            if (!mont.passes(a % n, d, s)) return false;
+        }
+        return true;
+    }
+
+    private static boolean passesDirect(long a, long d, int s, long n) {
+        if (a == 0) return true;
+
+        long x = 1;
+        long base = a;
+        for (long e = d; e > 0; e >>>= 1) {
+            if ((e & 1) == 1) x = x * base % n;
+            base = base * base % n;
+        }
+        if (x == 1 || x == n - 1) return true;
+
+        for (int r = 1; r < s; r++) {
+            x = x * x % n;
+            if (x == n - 1) return true;
+        }
+        return false;
+    }
+
+    // Montgomery arithmetic modulo an odd n < 2^63, with R = 2^64
+    private static final class Montgomery {
+        private final long n;
+        private final long negInverse;
+        private final long one;
+        private final long rSquared;
+
+        Montgomery(long n) {
+            this.n = n;
+
+            // Newton iteration for n^-1 mod 2^64; each step doubles the correct bits
+            long inverse = n;
+            for (int i = 0; i < 5; i++) {
+                inverse *= 2 - n * inverse;
+            }
+            this.negInverse = -inverse;
+
+            this.one = Long.remainderUnsigned(-n, n);
+            long r2 = one;
+            for (int i = 0; i < 64; i++) {
+                r2 = addMod(r2, r2);
+            }
+            this.rSquared = r2;
+        }
+
+        boolean passes(long a, long d, int s) {
+            if (a == 0) return true;
+
+            long minusOne = n - one;
+            long x = pow(multiply(a, rSquared), d);
+            if (x == one || x == minusOne) return true;
+
+            for (int r = 1; r < s; r++) {
+                x = multiply(x, x);
+                if (x == minusOne) return true;
+            }
+            return false;
+        }
+
+        private long pow(long base, long e) {
+            long result = one;
+            while (e > 0) {
+                if ((e & 1) == 1) result = multiply(result, base);
+                base = multiply(base, base);
+                e >>>= 1;
+            }
+            return result;
+        }
+
+        // REDC(a * b): returns a * b / R mod n
+        private long multiply(long a, long b) {
+            long low = a * b;
+            long high = unsignedMultiplyHigh(a, b);
+
+            long m = low * negInverse;
+            long t = high + unsignedMultiplyHigh(m, n) + (low != 0 ? 1 : 0);
+            return Long.compareUnsigned(t, n) >= 0 ? t - n : t;
+        }
+
+        private long addMod(long a, long b) {
+            long sum = a + b;
+            return Long.compareUnsigned(sum, n) >= 0 ? sum - n : sum;
+        }
+
+        private static long unsignedMultiplyHigh(long a, long b) {
+            return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 public class NextPrime {
     public static Integer nextPrime(Integer n) {
-        int next = n + 1; // start from the next integer
+        int next = Math.addExact(n, 1); // start from the next integer
         while (!isPrime(next)) {
             next++;
         }
@@ -9,7 +9,7 @@ public class NextPrime {
 
     private static boolean isPrime(int num) {
         if (num < 2) return false; // 0 and 1 are not prime
-        for (int i = 2; i * i <= num; i++) { // check divisibility up to sqrt(num)
+        for (int i = 2; i <= num / i; i++) { // check divisibility up to sqrt(num) without overflowing i * i
             if (num % i == 0) return false;
         }
         return true;
@@ -0,0 +1,170 @@
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+// Segmented Sieve of Eratosthenes. The range is cut into cache-sized segments that
+// are sieved independently, so only one segment per worker is alive at a time.
+// Call parallel() on the returned stream to spread segments over the fork/join pool.
+public class PrimeSieve {
+    // Numbers covered by one segment; its odd-only bitset is 16 KB
+    static final int SEGMENT_SIZE = 1 << 18;
+
+    // Base primes are kept up to this bound. Segments above BASE_LIMIT^2 are only
+    // pre-sieved, and their survivors are confirmed with Miller-Rabin.
+    static final int BASE_LIMIT = 1 << 26;
+
+    // Odd primes up to limit, shared by every call that needs no more than that
+    private static final class BasePrimes {
+        final int limit;
+        final int[] primes;
+
+        BasePrimes(int limit, int[] primes) {
+            this.limit = limit;
+            this.primes = primes;
+        }
+
+        // How many of the primes are at most bound
+        int countUpTo(int bound) {
+            int low = 0;
+            int high = primes.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (primes[mid] <= bound) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static volatile BasePrimes basePrimes = new BasePrimes(2, new int[0]);
+
+    // floor(sqrt(Long.MAX_VALUE))
+    private static final long MAX_LONG_ROOT = 3037000499L;
+
+    // Primes p with lo <= p < hi, in increasing order, computed one segment at a time
+    public static LongStream primesBetween(long lo, long hi) {
+        long from = Math.max(lo, 0);
+        if (from >= hi) return LongStream.empty();
+
+        // A base prime much larger than the range costs a step per segment and rarely
+        // hits anything, so narrow ranges sieve with fewer primes and let Miller-Rabin
+        // confirm the survivors instead
+        int limit = (int) Math.min(isqrt(hi - 1), Math.min(BASE_LIMIT, Math.max(SEGMENT_SIZE, hi - from)));
+        BasePrimes base = basePrimes(limit);
+        int baseCount = base.countUpTo(limit);
+
+        long segments = (hi - from - 1) / SEGMENT_SIZE + 1;
+        return LongStream.range(0, segments).flatMap(s -> {
+            long segmentFrom = from + s * SEGMENT_SIZE;
+            long segmentTo = hi - segmentFrom <= SEGMENT_SIZE ? hi : segmentFrom + SEGMENT_SIZE;
+            return LongStream.of(sieveSegment(segmentFrom, segmentTo, base.primes, baseCount, limit));
+        });
+    }
+
+    public static PrimitiveIterator.OfLong iterator(long lo, long hi) {
+        return primesBetween(lo, hi).iterator();
+    }
+
+    // Counts the primes in [lo, hi) using every core
+    public static long countPrimes(long lo, long hi) {
+        return primesBetween(lo, hi).parallel().count();
+    }
+
+    // Odd primes up to at least limit, sieved once and reused by later calls
+    static BasePrimes basePrimes(int limit) {
+        BasePrimes cached = basePrimes;
+        if (cached.limit >= limit) return cached;
+        synchronized (PrimeSieve.class) {
+            cached = basePrimes;
+            if (cached.limit < limit) {
+                // Grow geometrically so that rising limits re-sieve only O(log) times
+                cached = sieveBasePrimes((int) Math.min(BASE_LIMIT, Math.max(limit, 2L * cached.limit)));
+                basePrimes = cached;
+            }
+        }
+        return cached;
+    }
+
+    private static BasePrimes sieveBasePrimes(int limit) {
+        // Bit i stands for the odd number 2i + 1
+        int odds = (limit + 1) >>> 1;
+        long[] composite = new long[(odds + 63) >>> 6];
+        composite[0] = 1;
+        for (int i = 1; (2L * i + 1) * (2L * i + 1) <= limit; i++) {
+            if ((composite[i >>> 6] & (1L << i)) != 0) continue;
+            int p = 2 * i + 1;
+            for (long j = ((long) p * p) >>> 1; j < odds; j += p) {
+                composite[(int) (j >>> 6)] |= 1L << j;
+            }
+        }
+
+        int count = odds;
+        for (long word : composite) {
+            count -= Long.bitCount(word);
+        }
+
+        int[] primes = new int[count];
+        int n = 0;
+        for (int i = 1; i < odds; i++) {
+            if ((composite[i >>> 6] & (1L << i)) == 0) {
+                primes[n++] = 2 * i + 1;
+            }
+        }
+        return new BasePrimes(limit, primes);
+    }
+
+    // Primes in [from, to), sieved with the first baseCount base primes, which are all
+    // the odd primes up to baseLimit. Survivors are confirmed with Miller-Rabin when
+    // baseLimit falls short of sqrt(to).
+    static long[] sieveSegment(long from, long to, int[] basePrimes, int baseCount, long baseLimit) {
+        long start = (from & 1) == 0 ? from + 1 : from;
+        int count = start >= to ? 0 : (int) ((to - start + 1) >>> 1);
+
+        // Bit i stands for the odd number start + 2i
+        long[] composite = new long[(count + 63) >>> 6];
+        for (int k = 0; k < baseCount; k++) {
+            int p = basePrimes[k];
+            long square = (long) p * p;
+            if (square >= to) break;
+
+            long first = Math.max(square, start + (p - start % p) % p);
+            if ((first & 1) == 0) first += p;
+            for (long i = (first - start) >>> 1; i < count; i += p) {
+                composite[(int) (i >>> 6)] |= 1L << i;
+            }
+        }
+
+        // Size the result from the survivors instead of the whole segment
+        int survivors = count;
+        for (long word : composite) {
+            survivors -= Long.bitCount(word);
+        }
+
+        // Base primes stop short of sqrt(to), so survivors still need a primality check
+        boolean verify = isqrt(to - 1) > baseLimit;
+
+        long[] primes = new long[survivors + 1];
+        int found = 0;
+        if (from <= 2 && to > 2) {
+            primes[found++] = 2;
+        }
+        for (int i = 0; i < count; i++) {
+            if ((composite[i >>> 6] & (1L << i)) != 0) continue;
+            long value = start + 2L * i;
+            if (value < 3) continue;
+            if (verify && !LongPrimes.isPrime(value)) continue;
+            primes[found++] = value;
+        }
+        return Arrays.copyOf(primes, found);
+    }
+
+    static long isqrt(long n) {
+        long r = (long) Math.sqrt((double) n);
+        while (r * r > n) r--;
+        while (r < MAX_LONG_ROOT && (r + 1) * (r + 1) <= n) r++;
+        return r;
+    }
+}
@@ -1,5 +1,9 @@
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
 
 // ============================================
 // FILE: RegexBuilder.java
@@ -18,12 +22,21 @@ public interface RegexBuilder {
 // ============================================
 class Regex {
     private StringBuilder pattern;
+    private final List<String> component;
+    private final RegexCache cache;
+    private volatile Pattern compiled;
 
     public Regex() {
-        pattern = new StringBuilder();
+        this(List.of());
     }
 
     public Regex(List<String> component) {
+        this(component, RegexCache.shared());
+    }
+
+    public Regex(List<String> component, RegexCache cache) {
+        this.component = List.copyOf(component);
+        this.cache = cache;
         pattern = new StringBuilder();
         for(String c : component) {
             pattern.append(c);
@@ -34,6 +47,15 @@ class Regex {
         return pattern.toString();
     }
 
+    // Compiled on first use; regexes built from the same components share one Pattern
+    public Pattern getCompiledPattern() {
+        Pattern result = compiled;
+        if (result == null) {
+            compiled = result = cache.get(component);
+        }
+        return result;
+    }
+
     @Override
     public String toString() {
         return getPattern();
@@ -45,6 +67,15 @@ class Regex {
 // ============================================
 class ConcreteRegexBuilder implements RegexBuilder {
     private List<String> component = new ArrayList<>();
+    private final RegexCache cache;
+
+    public ConcreteRegexBuilder() {
+        this(RegexCache.shared());
+    }
+
+    public ConcreteRegexBuilder(RegexCache cache) {
+        this.cache = cache;
+    }
 
     @Override
     public void buildLiteral(String literal) {
@@ -73,7 +104,7 @@ class ConcreteRegexBuilder implements RegexBuilder {
 
     @Override
     public Regex getResult() {
-        return new Regex(component);
+        return new Regex(component, cache);
     }
 }
 
@@ -94,4 +125,112 @@ class RegexDirector {
         builder.buildAnyCharacter();
         return builder.getResult();
     }
-}
\ No newline at end of file
+}
+
+// ============================================
+// FILE: RegexCache.java
+// ============================================
+// Bounded LRU cache of compiled patterns keyed by the builder's component sequence.
+// Hits are a lock-free map lookup plus a timestamp write. A miss compiles the pattern
+// once, even when several threads ask at the same time, and when the cache is over
+// capacity it scans for the least recently used entry. Misses pay for a regex
+// compilation anyway, so that scan is cheap by comparison.
+class RegexCache {
+    private static final RegexCache SHARED = new RegexCache(256);
+
+    private final int capacity;
+    private final Map<List<String>, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private static final class Entry {
+        final Pattern pattern;
+        volatile long lastUsed;
+
+        Entry(Pattern pattern, long lastUsed) {
+            this.pattern = pattern;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    public RegexCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    // Cache used by builders created without one
+    public static RegexCache shared() {
+        return SHARED;
+    }
+
+    // The regex is always built from the components themselves, so an entry cannot
+    // hold a pattern that does not match its key
+    public Pattern get(List<String> component) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(component);
+        if (entry != null) {
+            hits.increment();
+        } else {
+            boolean[] compiledHere = new boolean[1];
+            entry = entries.computeIfAbsent(List.copyOf(component), key -> {
+                compiledHere[0] = true;
+                return new Entry(Pattern.compile(String.join("", key)), now);
+            });
+            if (compiledHere[0]) {
+                misses.increment();
+                if (entries.size() > capacity) {
+                    evict();
+                }
+            } else {
+                // Another thread compiled it in the meantime
+                hits.increment();
+            }
+        }
+        entry.lastUsed = now;
+        return entry.pattern;
+    }
+
+    private synchronized void evict() {
+        while (entries.size() > capacity) {
+            Map.Entry<List<String>, Entry> oldest = null;
+            for (Map.Entry<List<String>, Entry> candidate : entries.entrySet()) {
+                if (oldest == null || candidate.getValue().lastUsed < oldest.getValue().lastUsed) {
+                    oldest = candidate;
+                }
+            }
+            if (oldest == null || !entries.remove(oldest.getKey(), oldest.getValue())) {
+                return;
+            }
+            evictions.increment();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "RegexCache[size=" + size() + ", hits=" + hits() + ", misses=" + misses()
+                + ", evictions=" + evictions() + "]";
+    }
+}
@@ -1,3 +1,7 @@
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
 public class CircularLinkedList implements LinkedList {
     private Node head;
     private int size;
@@ -107,6 +111,120 @@ public class CircularLinkedList implements LinkedList {
         return size;
     }
 
+    // Bulk operations visit each of the size nodes exactly once, following the links
+    // directly instead of the traced next() used by the indexed operations
+
+    // Finds the tail once and appends everything after it
+    @Override
+    public void addAll(int[] values) {
+        if (values.length == 0) return;
+
+        int i = 0;
+        if (head == null) {
+            add(values[i++]);
+        }
+        Node last = lastNode();
+        for (; i < values.length; i++) {
+            Node newNode = new Node(values[i]);
+            last.next = newNode;
+            last = newNode;
+            size++;
+        }
+        last.next = head; // close the circle
+    }
+
+    @Override
+    public int[] toArray() {
+        int[] values = new int[size];
+        Node current = head;
+        for (int i = 0; i < size; i++) {
+            values[i] = current.value;
+            current = current.next;
+        }
+        return values;
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        Node current = head;
+        for (int i = 0; i < size; i++) {
+            action.accept(current.value);
+            current = current.next;
+        }
+    }
+
+    @Override
+    public boolean removeIf(IntPredicate filter) {
+        if (head == null) return false;
+
+        int before = size;
+        Node previous = lastNode();
+        Node current = head;
+        for (int i = 0; i < before; i++) {
+            Node following = current.next;
+            if (filter.test(current.value)) {
+                previous.next = following;
+                if (current == head) head = following;
+                size--;
+            } else {
+                previous = current;
+            }
+            current = following;
+        }
+        if (size == 0) head = null;
+        return size != before;
+    }
+
+    // One lap from the head; does not wrap around
+    @Override
+    public IntIterator iterator() {
+        return new IntIterator() {
+            private Node upcoming = head;
+            private int remaining = size;
+            private Node last;
+            // Node before upcoming, found lazily when the head is removed first
+            private Node previous;
+            private Node beforeLast;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (remaining == 0) throw new NoSuchElementException();
+                beforeLast = previous;
+                last = upcoming;
+                previous = upcoming;
+                upcoming = upcoming.next;
+                remaining--;
+                return last.value;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) throw new IllegalStateException();
+                Node before = beforeLast != null ? beforeLast : lastNode();
+                before.next = last.next;
+                if (last == head) head = last.next;
+                size--;
+                if (size == 0) head = null;
+                previous = before;
+                last = null;
+            }
+        };
+    }
+
+    // The node pointing back to head; the list must not be empty
+    private Node lastNode() {
+        Node last = head;
+        while (last.next != head) {
+            last = last.next;
+        }
+        return last;
+    }
+
     private Node next(Node node) {
         System.out.print("Go to next node\n");
         return node.next;
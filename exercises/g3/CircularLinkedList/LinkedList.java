@@ -0,0 +1,59 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+public interface LinkedList {
+    int at(int index);
+    void add(int value);
+    void remove(int index);
+    int size();
+
+    // Primitive iterator whose remove() deletes the last returned value
+    interface IntIterator extends PrimitiveIterator.OfInt {
+        @Override
+        void remove();
+    }
+
+    // Visits each value once, from the first to the last
+    IntIterator iterator();
+
+    // The defaults work on any list through iterator(); implementations override
+    // them with single passes over their own storage
+
+    default void addAll(int[] values) {
+        for (int value : values) {
+            add(value);
+        }
+    }
+
+    default int[] toArray() {
+        int[] values = new int[size()];
+        IntIterator it = iterator();
+        for (int i = 0; i < values.length; i++) {
+            if (!it.hasNext()) throw new NoSuchElementException();
+            values[i] = it.nextInt();
+        }
+        return values;
+    }
+
+    default void forEach(IntConsumer action) {
+        IntIterator it = iterator();
+        while (it.hasNext()) {
+            action.accept(it.nextInt());
+        }
+    }
+
+    // Returns true if anything was removed
+    default boolean removeIf(IntPredicate filter) {
+        boolean removed = false;
+        IntIterator it = iterator();
+        while (it.hasNext()) {
+            if (filter.test(it.nextInt())) {
+                it.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,184 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+// Array-backed drop-in for CircularLinkedList. Values live in a growable power-of-two
+// ring, so at() wraps any index with a single index % size, both ends take O(1)
+// adds and removes, and remove(index) shifts only the shorter side of the ring.
+public class RingBufferList implements LinkedList {
+    private int[] ring;
+    private int head;
+    private int size;
+
+    public RingBufferList() {
+        this(16);
+    }
+
+    public RingBufferList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + initialCapacity);
+        }
+        ring = new int[Integer.highestOneBit(Math.max(2, initialCapacity) * 2 - 1)];
+    }
+
+    // Like CircularLinkedList, any non-negative index wraps around the list
+    @Override
+    public int at(int index) {
+        if (index < 0 || size == 0) return -1;
+        return ring[slot(index % size)];
+    }
+
+    @Override
+    public void add(int value) {
+        addLast(value);
+    }
+
+    // Removes the element index % size, as CircularLinkedList does
+    @Override
+    public void remove(int index) {
+        if (index < 0 || size == 0) return;
+
+        int i = index % size;
+        int mask = ring.length - 1;
+        if (i < size / 2) {
+            // Shift the front part one step towards the back
+            for (int j = i; j > 0; j--) {
+                ring[(head + j) & mask] = ring[(head + j - 1) & mask];
+            }
+            head = (head + 1) & mask;
+        } else {
+            for (int j = i; j < size - 1; j++) {
+                ring[(head + j) & mask] = ring[(head + j + 1) & mask];
+            }
+        }
+        size--;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void addAll(int[] values) {
+        while (ring.length - size < values.length) grow();
+        int tailSlot = slot(size);
+        int firstPart = Math.min(values.length, ring.length - tailSlot);
+        System.arraycopy(values, 0, ring, tailSlot, firstPart);
+        System.arraycopy(values, firstPart, ring, 0, values.length - firstPart);
+        size += values.length;
+    }
+
+    @Override
+    public int[] toArray() {
+        int[] values = new int[size];
+        int firstPart = Math.min(size, ring.length - head);
+        System.arraycopy(ring, head, values, 0, firstPart);
+        System.arraycopy(ring, 0, values, firstPart, size - firstPart);
+        return values;
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(ring[slot(i)]);
+        }
+    }
+
+    // Slides the kept values towards the head in one pass
+    @Override
+    public boolean removeIf(IntPredicate filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int value = ring[slot(i)];
+            if (!filter.test(value)) {
+                ring[slot(kept++)] = value;
+            }
+        }
+        boolean removed = kept != size;
+        size = kept;
+        return removed;
+    }
+
+    // One lap from the head; does not wrap around
+    @Override
+    public IntIterator iterator() {
+        return new IntIterator() {
+            private int index;
+            private boolean canRemove;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (index >= size) throw new NoSuchElementException();
+                canRemove = true;
+                return ring[slot(index++)];
+            }
+
+            @Override
+            public void remove() {
+                if (!canRemove) throw new IllegalStateException();
+                RingBufferList.this.remove(--index);
+                canRemove = false;
+            }
+        };
+    }
+
+    public void addFirst(int value) {
+        if (size == ring.length) grow();
+        head = (head - 1) & (ring.length - 1);
+        ring[head] = value;
+        size++;
+    }
+
+    public void addLast(int value) {
+        if (size == ring.length) grow();
+        ring[slot(size)] = value;
+        size++;
+    }
+
+    public int removeFirst() {
+        if (size == 0) throw new NoSuchElementException();
+        int value = ring[head];
+        head = (head + 1) & (ring.length - 1);
+        size--;
+        return value;
+    }
+
+    public int removeLast() {
+        if (size == 0) throw new NoSuchElementException();
+        size--;
+        return ring[slot(size)];
+    }
+
+    private int slot(int offset) {
+        return (head + offset) & (ring.length - 1);
+    }
+
+    // Doubles the ring and unwraps the contents to start at 0
+    private void grow() {
+        if (ring.length == 1 << 30) {
+            throw new IllegalStateException("Ring buffer is full");
+        }
+        int[] bigger = new int[ring.length * 2];
+        int firstPart = Math.min(size, ring.length - head);
+        System.arraycopy(ring, head, bigger, 0, firstPart);
+        System.arraycopy(ring, 0, bigger, firstPart, size - firstPart);
+        ring = bigger;
+        head = 0;
+    }
+
+    @Override
+    public String toString() {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = ring[slot(i)];
+        }
+        return Arrays.toString(values);
+    }
+}
@@ -1,3 +1,7 @@
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
 public class DoubleLinkedList implements LinkedList {
     private Node head;
     private Node tail;
@@ -82,6 +86,9 @@ public class DoubleLinkedList implements LinkedList {
             }
         }
 
+        // Interior node: both neighbours exist
+        current.prev.next = current.next;
+        current.next.prev = current.prev;
         size--;
     }
 
@@ -90,6 +97,81 @@ public class DoubleLinkedList implements LinkedList {
         return size;
     }
 
+    // Bulk operations are single passes over the node links and skip the traced
+    // next()/prev() helpers, which exist for the indexed operations above. addAll keeps
+    // the default, as add() is O(1).
+
+    @Override
+    public int[] toArray() {
+        int[] values = new int[size];
+        int i = 0;
+        for (Node current = head; current != null; current = current.next) {
+            values[i++] = current.value;
+        }
+        return values;
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        for (Node current = head; current != null; current = current.next) {
+            action.accept(current.value);
+        }
+    }
+
+    @Override
+    public boolean removeIf(IntPredicate filter) {
+        int before = size;
+        for (Node current = head; current != null; current = current.next) {
+            if (filter.test(current.value)) {
+                unlink(current);
+            }
+        }
+        return size != before;
+    }
+
+    @Override
+    public IntIterator iterator() {
+        return new IntIterator() {
+            private Node upcoming = head;
+            private Node last;
+
+            @Override
+            public boolean hasNext() {
+                return upcoming != null;
+            }
+
+            @Override
+            public int nextInt() {
+                if (upcoming == null) throw new NoSuchElementException();
+                last = upcoming;
+                upcoming = upcoming.next;
+                return last.value;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) throw new IllegalStateException();
+                unlink(last);
+                last = null;
+            }
+        };
+    }
+
+    // Detaches a node; its own next pointer is left intact so a walk can continue from it
+    private void unlink(Node node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        size--;
+    }
+
     private Node next(Node node) {
         System.out.print("Go to next node\n");
         return node.next;
@@ -0,0 +1,239 @@
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+// Doubly linked list of int[] chunks. Each chunk holds up to CHUNK_CAPACITY values, so
+// the per-element overhead is a few bits instead of a whole node object. A finger
+// remembers the chunk found by the last lookup; at() and remove() start from whichever
+// of head, tail or finger is closest, so sequential and nearby accesses are amortized
+// O(1) and the rest cost O(n / CHUNK_CAPACITY) chunk hops.
+public class UnrolledLinkedList implements LinkedList {
+    static final int CHUNK_CAPACITY = 64;
+
+    private Chunk head;
+    private Chunk tail;
+    private int size;
+
+    // Chunk of the last lookup and the list index of its first value
+    private Chunk finger;
+    private int fingerBase;
+
+    private static class Chunk {
+        final int[] values = new int[CHUNK_CAPACITY];
+        int count;
+        Chunk next;
+        Chunk prev;
+    }
+
+    @Override
+    public int at(int index) {
+        if (index < 0 || index >= size) return -1;
+
+        locate(index);
+        return finger.values[index - fingerBase];
+    }
+
+    @Override
+    public void add(int value) {
+        if (tail == null || tail.count == CHUNK_CAPACITY) {
+            Chunk chunk = new Chunk();
+            if (tail == null) {
+                head = chunk;
+            } else {
+                tail.next = chunk;
+                chunk.prev = tail;
+            }
+            tail = chunk;
+        }
+        tail.values[tail.count++] = value;
+        size++;
+    }
+
+    @Override
+    public void remove(int index) {
+        if (index < 0 || index >= size) return;
+
+        locate(index);
+        Chunk chunk = finger;
+        int offset = index - fingerBase;
+        System.arraycopy(chunk.values, offset + 1, chunk.values, offset, chunk.count - offset - 1);
+        chunk.count--;
+        size--;
+
+        if (chunk.count == 0) {
+            unlink(chunk);
+        } else if (chunk.count < CHUNK_CAPACITY / 2 && chunk.next != null
+                && chunk.count + chunk.next.count <= CHUNK_CAPACITY) {
+            // Keep chunks at least half full on average by absorbing the next one
+            Chunk next = chunk.next;
+            System.arraycopy(next.values, 0, chunk.values, chunk.count, next.count);
+            chunk.count += next.count;
+            unlink(next);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void addAll(int[] values) {
+        int i = 0;
+        while (i < values.length) {
+            if (tail == null || tail.count == CHUNK_CAPACITY) {
+                add(values[i++]);
+                continue;
+            }
+            int n = Math.min(values.length - i, CHUNK_CAPACITY - tail.count);
+            System.arraycopy(values, i, tail.values, tail.count, n);
+            tail.count += n;
+            size += n;
+            i += n;
+        }
+    }
+
+    @Override
+    public int[] toArray() {
+        int[] values = new int[size];
+        int i = 0;
+        for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+            System.arraycopy(chunk.values, 0, values, i, chunk.count);
+            i += chunk.count;
+        }
+        return values;
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i++) {
+                action.accept(chunk.values[i]);
+            }
+        }
+    }
+
+    // Slides the survivors forward into full chunks in one pass, so the list ends up
+    // as densely packed as after addAll(), and drops the chunks left over at the end
+    @Override
+    public boolean removeIf(IntPredicate filter) {
+        int before = size;
+        // The write position never passes the read position, so values are moved
+        // only after they have been read
+        Chunk target = head;
+        int written = 0;
+        size = 0;
+        for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+            int count = chunk.count;
+            for (int i = 0; i < count; i++) {
+                int value = chunk.values[i];
+                if (!filter.test(value)) {
+                    target.values[written++] = value;
+                    size++;
+                    if (written == CHUNK_CAPACITY) {
+                        target.count = CHUNK_CAPACITY;
+                        target = target.next;
+                        written = 0;
+                    }
+                }
+            }
+        }
+
+        Chunk last;
+        if (target == null) {
+            last = tail;
+        } else if (written > 0) {
+            target.count = written;
+            last = target;
+        } else {
+            last = target.prev;
+        }
+        if (last == null) {
+            head = null;
+        } else {
+            last.next = null;
+        }
+        tail = last;
+        finger = head;
+        fingerBase = 0;
+        return size != before;
+    }
+
+    // Walks by index; the finger keeps each step O(1) amortized
+    @Override
+    public IntIterator iterator() {
+        return new IntIterator() {
+            private int index;
+            private boolean canRemove;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (index >= size) throw new NoSuchElementException();
+                canRemove = true;
+                return at(index++);
+            }
+
+            @Override
+            public void remove() {
+                if (!canRemove) throw new IllegalStateException();
+                UnrolledLinkedList.this.remove(--index);
+                canRemove = false;
+            }
+        };
+    }
+
+    // Points the finger at the chunk holding index, which must be in range
+    private void locate(int index) {
+        if (finger == null) {
+            finger = head;
+            fingerBase = 0;
+        }
+        if (index >= fingerBase && index < fingerBase + finger.count) return;
+
+        // Restart from an end when it is closer than the finger
+        int fromFinger = index < fingerBase ? fingerBase - index : index - fingerBase - finger.count;
+        if (index < fromFinger) {
+            finger = head;
+            fingerBase = 0;
+        } else if (size - 1 - index < fromFinger) {
+            finger = tail;
+            fingerBase = size - tail.count;
+        }
+
+        while (index < fingerBase) {
+            finger = finger.prev;
+            fingerBase -= finger.count;
+        }
+        while (index >= fingerBase + finger.count) {
+            fingerBase += finger.count;
+            finger = finger.next;
+        }
+    }
+
+    private void unlink(Chunk chunk) {
+        if (chunk.prev == null) {
+            head = chunk.next;
+        } else {
+            chunk.prev.next = chunk.next;
+        }
+        if (chunk.next == null) {
+            tail = chunk.prev;
+        } else {
+            chunk.next.prev = chunk.prev;
+        }
+
+        // Values after the chunk keep their indices, so the next chunk takes over its base
+        if (chunk == finger) {
+            finger = chunk.next;
+            if (finger == null) {
+                finger = head;
+                fingerBase = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+public class ConcreteProductA implements Product {
+    @Override
+    public void showDetails() {
+        System.out.println("This is ConcreteProductA.");
+    }
+}
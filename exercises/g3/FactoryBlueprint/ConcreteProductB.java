@@ -0,0 +1,6 @@
+public class ConcreteProductB implements Product {
+    @Override
+    public void showDetails() {
+        System.out.println("This is ConcreteProductB.");
+    }
+}
@@ -8,22 +8,3 @@ public class Factory {
         return null;
     }
 }
-
-// ============================================
-// FILE: ConcreteProductA.java
-// ============================================
-public class ConcreteProductA implements Product {
-    @Override
-    public void showDetails() {
-        System.out.println("This is ConcreteProductA.");
-    }
-}
-// ============================================
-// FILE: ConcreteProductB.java
-// ============================================
-public class ConcreteProductB implements Product {
-    @Override
-    public void showDetails() {
-        System.out.println("This is ConcreteProductB.");
-    }
-}
\ No newline at end of file
@@ -0,0 +1,8 @@
+// Service interface for plugging product types into a ProductRegistry. A jar adds
+// types by listing its implementations in META-INF/services/ProductProvider; each
+// needs a public no-arg constructor.
+public interface ProductProvider {
+    String type();
+
+    Product create();
+}
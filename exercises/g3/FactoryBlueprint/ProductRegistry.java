@@ -0,0 +1,131 @@
+import java.util.Collections;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+// Factory that maps type keys to suppliers instead of an if/else chain, so creating a
+// product is one hash lookup however many types are registered. Types can be added
+// at any time, directly or through ServiceLoader, and products that are expensive to
+// build can be pooled or copied from a prototype. Safe for concurrent use.
+public class ProductRegistry {
+    private final Map<String, Supplier<? extends Product>> suppliers = new ConcurrentHashMap<>();
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+
+    // The two products of the exercise
+    public static ProductRegistry withDefaults() {
+        ProductRegistry registry = new ProductRegistry();
+        registry.register("A", ConcreteProductA::new);
+        registry.register("B", ConcreteProductB::new);
+        return registry;
+    }
+
+    // Same contract as Factory.createProduct: null for an unknown type
+    public Product create(String type) {
+        Supplier<? extends Product> supplier = suppliers.get(type);
+        return supplier == null ? null : supplier.get();
+    }
+
+    public boolean isRegistered(String type) {
+        return suppliers.containsKey(type);
+    }
+
+    // Read-only live view of the registered types
+    public Set<String> types() {
+        return Collections.unmodifiableSet(suppliers.keySet());
+    }
+
+    // Replaces any earlier registration of the type
+    public void register(String type, Supplier<? extends Product> supplier) {
+        if (type == null || supplier == null) {
+            throw new IllegalArgumentException("Type and supplier are required");
+        }
+        suppliers.put(type, supplier);
+        pools.remove(type);
+    }
+
+    // Every create() returns a copy of one prototype, built on first use
+    public <P extends Product> void registerPrototype(String type, Supplier<P> builder, UnaryOperator<P> copier) {
+        Supplier<P> prototype = new Supplier<P>() {
+            private volatile P instance;
+
+            @Override
+            public P get() {
+                P result = instance;
+                if (result == null) {
+                    synchronized (this) {
+                        result = instance;
+                        if (result == null) {
+                            instance = result = builder.get();
+                        }
+                    }
+                }
+                return result;
+            }
+        };
+        register(type, () -> copier.apply(prototype.get()));
+    }
+
+    // create() reuses released products when it can and builds new ones otherwise;
+    // at most maxIdle released products are kept
+    public void registerPooled(String type, Supplier<? extends Product> supplier, int maxIdle) {
+        if (maxIdle < 1) {
+            throw new IllegalArgumentException("Pool size must be positive: " + maxIdle);
+        }
+        Pool pool = new Pool(supplier, maxIdle);
+        register(type, pool);
+        pools.put(type, pool);
+    }
+
+    // Hands a product back to its type's pool; returns false if the type is not pooled
+    // or the pool is full. The caller must not use the product afterwards.
+    public boolean release(String type, Product product) {
+        Pool pool = pools.get(type);
+        return pool != null && pool.offer(product);
+    }
+
+    // Registers every ProductProvider visible to the loader; returns how many were found
+    public int loadProviders(ClassLoader loader) {
+        int found = 0;
+        for (ProductProvider provider : ServiceLoader.load(ProductProvider.class, loader)) {
+            register(provider.type(), provider::create);
+            found++;
+        }
+        return found;
+    }
+
+    private static final class Pool implements Supplier<Product> {
+        private final Supplier<? extends Product> supplier;
+        private final int maxIdle;
+        private final ConcurrentLinkedQueue<Product> idle = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger idleCount = new AtomicInteger();
+
+        Pool(Supplier<? extends Product> supplier, int maxIdle) {
+            this.supplier = supplier;
+            this.maxIdle = maxIdle;
+        }
+
+        @Override
+        public Product get() {
+            Product product = idle.poll();
+            if (product == null) return supplier.get();
+            idleCount.decrementAndGet();
+            return product;
+        }
+
+        boolean offer(Product product) {
+            // Reserve a slot first so the pool never grows past maxIdle
+            int count;
+            do {
+                count = idleCount.get();
+                if (count >= maxIdle) return false;
+            } while (!idleCount.compareAndSet(count, count + 1));
+            idle.offer(product);
+            return true;
+        }
+    }
+}
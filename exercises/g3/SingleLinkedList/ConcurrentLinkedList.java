@@ -0,0 +1,262 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+// Lock-free singly linked list for many concurrent producers and consumers.
+//
+// Removal follows Harris: a node is first deleted logically by a CAS on its state,
+// then its next pointer is frozen, then it is unlinked by a CAS on its predecessor.
+// Java has no spare pointer bits, so the "mark" on next is a marker node spliced in
+// after the deleted one, the same trick ConcurrentSkipListMap uses. Once the marker
+// is in place no append or unlink can change the deleted node's next.
+//
+// Appends CAS a null next pointer at the end of the list, starting from a tail hint,
+// and unlink any deleted node they find on the way, so a deleted node at the end
+// never blocks them.
+// Indexed operations count live nodes while they traverse, so they are linearizable
+// only against a quiescent list; size() and iteration are weakly consistent.
+public class ConcurrentLinkedList implements LinkedList {
+    private static final VarHandle NEXT;
+    private static final VarHandle STATE;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            STATE = lookup.findVarHandle(Node.class, "state", int.class);
+            TAIL = lookup.findVarHandle(ConcurrentLinkedList.class, "tail", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final int LIVE = 0;
+    private static final int DELETED = 1;
+
+    private static final class Node {
+        final int value;
+        final boolean marker;
+        volatile int state;
+        volatile Node next;
+
+        Node(int value) {
+            this.value = value;
+            this.marker = false;
+        }
+
+        // Marker frozen onto a deleted node, pointing at its successor
+        Node(Node next) {
+            this.value = 0;
+            this.marker = true;
+            this.next = next;
+        }
+    }
+
+    // Sentinel that is never deleted
+    private final Node head = new Node(0);
+    private volatile Node tail = head;
+    private final LongAdder count = new LongAdder();
+
+    @Override
+    public int at(int index) {
+        if (index < 0) return -1;
+
+        int seen = 0;
+        for (Node node = nextLive(head); node != null; node = nextLive(node)) {
+            if (seen++ == index) return node.value;
+        }
+        return -1;
+    }
+
+    @Override
+    public void add(int value) {
+        Node node = new Node(value);
+        Node hint = tail;
+        Node pred = null;
+        Node last = hint;
+        for (;;) {
+            Node next = last.next;
+            if (next == null) {
+                if (NEXT.compareAndSet(last, null, node)) {
+                    TAIL.compareAndSet(this, hint, node);
+                    count.increment();
+                    return;
+                }
+            } else if (!next.marker) {
+                pred = last;
+                last = next;
+            } else if (pred != null && NEXT.compareAndSet(pred, last, next.next)) {
+                // last is deleted and frozen: unlink it and carry on from its predecessor
+                TAIL.compareAndSet(this, last, pred);
+                last = pred;
+                pred = null;
+            } else {
+                // No live predecessor known, e.g. the tail hint itself was deleted
+                pred = null;
+                last = head;
+            }
+        }
+    }
+
+    @Override
+    public void remove(int index) {
+        if (index < 0) return;
+
+        // Claim the index-th live node; if another thread deletes it first, it no
+        // longer counts and the search goes on from the same predecessor
+        int seen = 0;
+        Node pred = head;
+        Node node = nextLive(pred);
+        while (node != null) {
+            if (seen < index) {
+                seen++;
+                pred = node;
+            } else if (STATE.compareAndSet(node, LIVE, DELETED)) {
+                count.decrement();
+                unlink(pred, node);
+                return;
+            }
+            node = nextLive(pred);
+        }
+    }
+
+    // Sum of a striped counter: never blocks, may miss operations in flight
+    @Override
+    public int size() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, count.sum()));
+    }
+
+    @Override
+    public int[] toArray() {
+        int[] values = new int[Math.max(16, size())];
+        int n = 0;
+        for (Node node = nextLive(head); node != null; node = nextLive(node)) {
+            if (n == values.length) {
+                values = Arrays.copyOf(values, n * 2);
+            }
+            values[n++] = node.value;
+        }
+        return Arrays.copyOf(values, n);
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        for (Node node = nextLive(head); node != null; node = nextLive(node)) {
+            action.accept(node.value);
+        }
+    }
+
+    @Override
+    public boolean removeIf(IntPredicate filter) {
+        boolean removed = false;
+        Node pred = head;
+        for (Node node = nextLive(pred); node != null; node = nextLive(pred)) {
+            if (filter.test(node.value) && STATE.compareAndSet(node, LIVE, DELETED)) {
+                count.decrement();
+                unlink(pred, node);
+                removed = true;
+            } else {
+                pred = node;
+            }
+        }
+        return removed;
+    }
+
+    // Weakly consistent: sees every value present for the whole walk, and may or may
+    // not see values added or removed meanwhile. Never throws on concurrent changes.
+    @Override
+    public IntIterator iterator() {
+        return new IntIterator() {
+            // The node upcoming was reached from, and the one last was reached from
+            private Node previous = head;
+            private Node upcoming = nextLive(head);
+            private Node last;
+            private Node beforeLast;
+
+            @Override
+            public boolean hasNext() {
+                return upcoming != null;
+            }
+
+            @Override
+            public int nextInt() {
+                if (upcoming == null) throw new NoSuchElementException();
+                beforeLast = previous;
+                last = upcoming;
+                previous = upcoming;
+                upcoming = nextLive(upcoming);
+                return last.value;
+            }
+
+            // No-op if another thread already removed the value
+            @Override
+            public void remove() {
+                if (last == null) throw new IllegalStateException();
+                if (STATE.compareAndSet(last, LIVE, DELETED)) {
+                    count.decrement();
+                    unlink(beforeLast, last);
+                }
+                previous = beforeLast;
+                last = null;
+            }
+        };
+    }
+
+    // First live node after pred. Deleted nodes on the way are unlinked from pred
+    // when pred is still in the list, so garbage does not pile up at the front.
+    private Node nextLive(Node pred) {
+        Node node = successor(pred);
+        while (node != null && node.state != LIVE) {
+            Node marker = freeze(node);
+            if (NEXT.compareAndSet(pred, node, marker.next)) {
+                TAIL.compareAndSet(this, node, pred);
+                node = marker.next;
+            } else if (pred.next != null && pred.next.marker) {
+                // pred is deleted and frozen itself; step over node without helping
+                pred = node;
+                node = marker.next;
+            } else {
+                // Someone else unlinked node first
+                node = successor(pred);
+            }
+        }
+        return node;
+    }
+
+    // Next real node, stepping over the marker of a deleted node
+    private static Node successor(Node node) {
+        Node next = node.next;
+        return next != null && next.marker ? next.next : next;
+    }
+
+    private void unlink(Node pred, Node node) {
+        Node marker = freeze(node);
+        if (NEXT.compareAndSet(pred, node, marker.next)) {
+            // Keep the tail hint off unlinked nodes so appends do not restart from head
+            TAIL.compareAndSet(this, node, pred);
+            return;
+        }
+        // pred changed or was deleted itself. Walk from head up to node's successor:
+        // nextLive unlinks node once it finds it behind a live predecessor.
+        Node after = marker.next;
+        Node p = head;
+        while (p != null && p != after) {
+            p = nextLive(p);
+        }
+    }
+
+    // Splices a marker after a deleted node, fixing its next pointer for good
+    private static Node freeze(Node node) {
+        for (;;) {
+            Node next = node.next;
+            if (next != null && next.marker) return next;
+            Node marker = new Node(next);
+            if (NEXT.compareAndSet(node, next, marker)) return marker;
+        }
+    }
+}
@@ -1,5 +1,19 @@
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
 public class SingleLinkedList implements LinkedList {
+    // Called on every hop from a node to its successor
+    public interface TraversalHook {
+        void onNext();
+    }
+
+    // The exercise's tracing; pass null to the constructor to traverse silently
+    public static final TraversalHook PRINT = () -> System.out.print("Go to next node\n");
+
+    private final TraversalHook hook;
     private Node head;
+    private Node tail;
     private int size;
 
     private class Node {
@@ -12,6 +26,13 @@ public class SingleLinkedList implements LinkedList {
         }
     }
 
+    public SingleLinkedList() {
+        this(PRINT);
+    }
+
+    public SingleLinkedList(TraversalHook hook) {
+        this.hook = hook;
+    }
 
     @Override
     public int at(int index) {
@@ -26,17 +47,14 @@ public class SingleLinkedList implements LinkedList {
 
     @Override
     public void add(int value) {
-        // Implementation for adding an element at the end of the list
+        // Appends after the tail, no traversal needed
         Node newNode = new Node(value);
         if (head == null) {
             head = newNode;
         } else {
-            Node current = head;
-            while (current.next != null) {
-                current = next(current); // move through list
-            }
-            current.next = newNode;
+            tail.next = newNode;
         }
+        tail = newNode;
         size++;
     }
 
@@ -47,6 +65,7 @@ public class SingleLinkedList implements LinkedList {
 
         if (index == 0) {
             head = head.next;
+            if (head == null) tail = null;
             size--;
             return;
         } 
@@ -58,6 +77,7 @@ public class SingleLinkedList implements LinkedList {
             current = next(current);
         }
         previous.next = current.next; // unlink the node
+        if (current == tail) tail = previous;
         size--;
     }
 
@@ -67,8 +87,90 @@ public class SingleLinkedList implements LinkedList {
         return size;
     }
 
+    // Bulk operations hop through next() like the rest of the list, so they are
+    // traced unless the list was built without a hook. addAll needs no override:
+    // add() is already O(1).
+
+    @Override
+    public int[] toArray() {
+        int[] values = new int[size];
+        Node current = head;
+        for (int i = 0; i < size; i++) {
+            values[i] = current.value;
+            if (i + 1 < size) current = next(current);
+        }
+        return values;
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        for (Node current = head; current != null; current = current.next == null ? null : next(current)) {
+            action.accept(current.value);
+        }
+    }
+
+    // Unlinks every match in one pass
+    @Override
+    public boolean removeIf(IntPredicate filter) {
+        int before = size;
+        Node previous = null;
+        for (Node current = head; current != null; current = current.next == null ? null : next(current)) {
+            if (filter.test(current.value)) {
+                if (previous == null) {
+                    head = current.next;
+                } else {
+                    previous.next = current.next;
+                }
+                if (current == tail) tail = previous;
+                size--;
+            } else {
+                previous = current;
+            }
+        }
+        return size != before;
+    }
+
+    // Yields the values from head to tail without boxing; each hop goes through next()
+    @Override
+    public IntIterator iterator() {
+        return new IntIterator() {
+            // Node before the next one to return, null while that is the head
+            private Node previous;
+            private Node last;
+            private Node beforeLast;
+
+            @Override
+            public boolean hasNext() {
+                return previous == null ? head != null : previous.next != null;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException();
+                beforeLast = previous;
+                last = previous == null ? head : SingleLinkedList.this.next(previous);
+                previous = last;
+                return last.value;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) throw new IllegalStateException();
+                if (beforeLast == null) {
+                    head = last.next;
+                } else {
+                    beforeLast.next = last.next;
+                }
+                if (last == tail) tail = beforeLast;
+                size--;
+                previous = beforeLast;
+                last = null;
+            }
+        };
+    }
+
     private Node next(Node node) {
-        System.out.print("Go to next node\n");
+        if (hook != null) hook.onNext();
         return node.next;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Double-checked locking with acquire/release access instead of a volatile field.
+// Once the instance is published, getInstance() is one acquire load, which is a
+// plain load on x86; only callers that race the first construction take the lock.
+public class DclSingleton {
+    private static final VarHandle INSTANCE;
+
+    static {
+        try {
+            INSTANCE = MethodHandles.lookup().findStaticVarHandle(DclSingleton.class, "instance", DclSingleton.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static DclSingleton instance;
+
+    private DclSingleton() {
+    }
+
+    public static DclSingleton getInstance() {
+        DclSingleton result = (DclSingleton) INSTANCE.getAcquire();
+        if (result == null) {
+            synchronized (DclSingleton.class) {
+                result = (DclSingleton) INSTANCE.getAcquire();
+                if (result == null) {
+                    result = new DclSingleton();
+                    // Release orders the constructor's writes before the publication
+                    INSTANCE.setRelease(result);
+                }
+            }
+        }
+        return result;
+    }
+
+    public String showMessage() {
+        return "Hello, I am a singleton!";
+    }
+}
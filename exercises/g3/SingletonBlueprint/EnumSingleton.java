@@ -0,0 +1,13 @@
+// Enum singleton: the JVM creates INSTANCE lazily when the enum is first used, and
+// serialization and reflection cannot make a second one
+public enum EnumSingleton {
+    INSTANCE;
+
+    public static EnumSingleton getInstance() {
+        return INSTANCE;
+    }
+
+    public String showMessage() {
+        return "Hello, I am a singleton!";
+    }
+}
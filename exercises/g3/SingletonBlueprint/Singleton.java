@@ -1,18 +1,20 @@
 public class Singleton {
-    private static Singleton instance;
     // Turn public to private
 
     private Singleton() {
     }
 
+    // The JVM runs Holder's initializer once, under its class-init lock, on the first
+    // getInstance() call; after that the call is a plain static field read
+    private static class Holder {
+        static final Singleton INSTANCE = new Singleton();
+    }
+
     public static Singleton getInstance() {
-        if (instance == null) {
-            instance = new Singleton();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     public String showMessage() {
         return "Hello, I am a singleton!";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,201 @@
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Compares the lazy singleton variants, plus a synchronized getInstance() as baseline.
+//
+//   java SingletonBenchmark [threads] [millisPerRun]
+//
+// First call: all threads call getInstance() at once on a class nobody has touched
+// yet, which is measured from the release of the start latch until the last thread
+// returns, and every thread must get the same instance. Each variant is loaded in a
+// fresh class loader per measurement so that every run really is the first call.
+// Throughput: the same threads call getInstance() in a loop for a fixed time.
+// Virtual threads are used as well when the JDK has them.
+public class SingletonBenchmark {
+    private static final String[] VARIANTS = {
+        "Singleton", "EnumSingleton", "DclSingleton", "SingletonBenchmark$SynchronizedSingleton"
+    };
+
+    // Keeps the hashes summed by spin() reachable
+    static volatile long sink;
+
+    // Baseline that takes a monitor on every call
+    static class SynchronizedSingleton {
+        private static SynchronizedSingleton instance;
+
+        static synchronized SynchronizedSingleton getInstance() {
+            if (instance == null) {
+                instance = new SynchronizedSingleton();
+            }
+            return instance;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 500;
+
+        List<String> kinds = new ArrayList<>();
+        kinds.add("platform");
+        if (virtualThreads() != null) {
+            kinds.add("virtual");
+        } else {
+            System.out.println("Virtual threads need JDK 21 or later; skipped");
+        }
+
+        System.out.printf("%-24s %-9s %14s %18s%n", "variant", "kind", "first call us", "calls/s");
+        for (String variant : VARIANTS) {
+            for (String kind : kinds) {
+                Supplier<ExecutorService> executor = "virtual".equals(kind)
+                        ? virtualThreads()
+                        : () -> Executors.newFixedThreadPool(threads);
+                double firstCall = firstCall(variant, threads, executor);
+                double throughput = throughput(getter(SingletonBenchmark.class.getClassLoader(), variant),
+                        threads, executor, millis);
+                System.out.printf("%-24s %-9s %,14.1f %,18.0f%n",
+                        variant.replace("SingletonBenchmark$", ""), kind, firstCall, throughput);
+            }
+        }
+    }
+
+    // Microseconds until every thread has its instance; fails if two instances appear
+    private static double firstCall(String variant, int threads, Supplier<ExecutorService> executor)
+            throws Exception {
+        URL classes = SingletonBenchmark.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {classes}, null)) {
+            Method getInstance = getter(loader, variant);
+            ExecutorService pool = executor.get();
+            CountDownLatch ready = new CountDownLatch(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    return getInstance.invoke(null);
+                }));
+            }
+            ready.await();
+            long begin = System.nanoTime();
+            start.countDown();
+
+            Object first = results.get(0).get();
+            for (Future<Object> result : results) {
+                if (result.get() != first) {
+                    throw new AssertionError(variant + " created more than one instance");
+                }
+            }
+            long elapsed = System.nanoTime() - begin;
+            pool.shutdown();
+            return elapsed / 1e3;
+        }
+    }
+
+    private static double throughput(Method getInstance, int threads, Supplier<ExecutorService> executor, long millis)
+            throws Exception {
+        String variant = getInstance.getDeclaringClass().getName();
+        ExecutorService pool = executor.get();
+        LongAdder calls = new LongAdder();
+        AtomicBoolean stop = new AtomicBoolean();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> hashes = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            hashes.add(pool.submit(() -> {
+                ready.countDown();
+                start.await();
+                return spin(variant, stop, calls);
+            }));
+        }
+        // Time only the calls, not the thread start-up
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep(millis);
+        stop.set(true);
+        long elapsed = System.nanoTime() - begin;
+        for (Future<Long> hash : hashes) {
+            sink += hash.get();
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+        return calls.sum() * 1e9 / elapsed;
+    }
+
+    // One loop per variant with a direct call, so no shared call site turns megamorphic.
+    // The identity hashes of the returned instances are summed and handed back, so the
+    // JIT cannot drop the calls as dead code; it may still hoist a constant instance.
+    private static long spin(String variant, AtomicBoolean stop, LongAdder calls) {
+        long done = 0;
+        long hashes = 0;
+        switch (variant) {
+            case "Singleton":
+                while (!stop.get()) {
+                    for (int i = 0; i < 1000; i++) {
+                        hashes += System.identityHashCode(Singleton.getInstance());
+                    }
+                    done += 1000;
+                }
+                break;
+            case "EnumSingleton":
+                while (!stop.get()) {
+                    for (int i = 0; i < 1000; i++) {
+                        hashes += System.identityHashCode(EnumSingleton.getInstance());
+                    }
+                    done += 1000;
+                }
+                break;
+            case "DclSingleton":
+                while (!stop.get()) {
+                    for (int i = 0; i < 1000; i++) {
+                        hashes += System.identityHashCode(DclSingleton.getInstance());
+                    }
+                    done += 1000;
+                }
+                break;
+            default:
+                while (!stop.get()) {
+                    for (int i = 0; i < 1000; i++) {
+                        hashes += System.identityHashCode(SynchronizedSingleton.getInstance());
+                    }
+                    done += 1000;
+                }
+                break;
+        }
+        calls.add(done);
+        return hashes;
+    }
+
+    private static Method getter(ClassLoader loader, String variant) throws ReflectiveOperationException {
+        Method getInstance = Class.forName(variant, false, loader).getDeclaredMethod("getInstance");
+        getInstance.setAccessible(true);
+        return getInstance;
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() if the running JDK has it
+    private static Supplier<ExecutorService> virtualThreads() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return () -> {
+                try {
+                    return (ExecutorService) factory.invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
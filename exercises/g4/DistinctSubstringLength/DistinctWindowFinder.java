@@ -0,0 +1,155 @@
+import java.util.Arrays;
+
+// Longest substring without repeating code points, in one pass over any CharSequence.
+// The window start jumps straight past the previous occurrence of a repeated code
+// point, so no character is visited twice. A finder can be reused across inputs.
+public class DistinctWindowFinder {
+    private static final int LATIN1 = 256;
+    private static final int FREE = -1;
+    private static final long MISSING = -1L;
+
+    // Last-seen positions packed as (code point index << 32 | char offset)
+    private final long[] latin1 = new long[LATIN1];
+
+    // Open-addressing table for code points above Latin-1
+    private int[] keys = new int[16];
+    private long[] positions = new long[16];
+    private int size;
+
+    public DistinctWindowFinder() {
+        Arrays.fill(latin1, MISSING);
+        Arrays.fill(keys, FREE);
+    }
+
+    public static final class Window {
+        private final int start;
+        private final int end;
+        private final int length;
+
+        Window(int start, int end, int length) {
+            this.start = start;
+            this.end = end;
+            this.length = length;
+        }
+
+        // Char offset of the first character in the window
+        public int start() {
+            return start;
+        }
+
+        // Char offset just past the window
+        public int end() {
+            return end;
+        }
+
+        // Number of code points in the window
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + start + ", " + end + ") length " + length;
+        }
+    }
+
+    public Window find(CharSequence s) {
+        clear();
+
+        int start = 0;
+        int startIndex = 0;
+        int index = 0;
+        int bestStart = 0, bestEnd = 0, bestLength = 0;
+
+        for (int i = 0; i < s.length(); ) {
+            int cp = Character.codePointAt(s, i);
+            int width = Character.charCount(cp);
+
+            long last = lastSeen(cp);
+            if (last != MISSING && (int) (last >>> 32) >= startIndex) {
+                startIndex = (int) (last >>> 32) + 1;
+                start = (int) last + width;
+            }
+            remember(cp, (long) index << 32 | i);
+
+            index++;
+            i += width;
+            if (index - startIndex > bestLength) {
+                bestLength = index - startIndex;
+                bestStart = start;
+                bestEnd = i;
+            }
+        }
+        return new Window(bestStart, bestEnd, bestLength);
+    }
+
+    public int maxLength(CharSequence s) {
+        return find(s).length();
+    }
+
+    private long lastSeen(int cp) {
+        if (cp < LATIN1) return latin1[cp];
+
+        int mask = keys.length - 1;
+        int slot = hash(cp) & mask;
+        while (keys[slot] != FREE) {
+            if (keys[slot] == cp) return positions[slot];
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    private void remember(int cp, long position) {
+        if (cp < LATIN1) {
+            latin1[cp] = position;
+            return;
+        }
+
+        int mask = keys.length - 1;
+        int slot = hash(cp) & mask;
+        while (keys[slot] != FREE) {
+            if (keys[slot] == cp) {
+                positions[slot] = position;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = cp;
+        positions[slot] = position;
+        if (++size > keys.length >>> 1) {
+            grow();
+        }
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        long[] oldPositions = positions;
+        keys = new int[oldKeys.length * 2];
+        positions = new long[oldKeys.length * 2];
+        Arrays.fill(keys, FREE);
+
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == FREE) continue;
+            int slot = hash(oldKeys[i]) & mask;
+            while (keys[slot] != FREE) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            positions[slot] = oldPositions[i];
+        }
+    }
+
+    private void clear() {
+        Arrays.fill(latin1, MISSING);
+        if (size > 0) {
+            Arrays.fill(keys, FREE);
+            size = 0;
+        }
+    }
+
+    private static int hash(int cp) {
+        int h = cp * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
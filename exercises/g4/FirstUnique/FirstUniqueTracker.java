@@ -0,0 +1,113 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+// Streaming version of FirstUnique: feed characters in any number of chunks and ask
+// for the current first unique character at any time. Every update and query is O(1)
+// and the memory used is fixed, whatever the length of the input.
+public class FirstUniqueTracker {
+    private static final int ALPHABET = Character.MAX_VALUE + 1;
+    private static final int NONE = -1;
+
+    private static final byte UNSEEN = 0;
+    private static final byte ONCE = 1;
+    private static final byte REPEATED = 2;
+
+    private final byte[] state = new byte[ALPHABET];
+
+    // Characters seen exactly once, kept in order of first appearance
+    private final int[] prev = new int[ALPHABET];
+    private final int[] next = new int[ALPHABET];
+    private int head = NONE;
+    private int tail = NONE;
+
+    private final char[] buffer = new char[8192];
+
+    public void accept(char c) {
+        switch (state[c]) {
+            case UNSEEN:
+                state[c] = ONCE;
+                append(c);
+                break;
+            case ONCE:
+                state[c] = REPEATED;
+                unlink(c);
+                break;
+            default:
+                break;
+        }
+    }
+
+    public void accept(CharSequence chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            accept(chars.charAt(i));
+        }
+    }
+
+    public void accept(char[] chars, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            accept(chars[i]);
+        }
+    }
+
+    // Consumes the remaining characters of buffer
+    public void accept(CharBuffer chars) {
+        if (chars.hasArray()) {
+            int start = chars.arrayOffset() + chars.position();
+            accept(chars.array(), start, chars.remaining());
+            chars.position(chars.limit());
+        } else {
+            while (chars.hasRemaining()) {
+                accept(chars.get());
+            }
+        }
+    }
+
+    // Reads until the end of the stream; the reader is not closed
+    public void accept(Reader reader) throws IOException {
+        int read;
+        while ((read = reader.read(buffer, 0, buffer.length)) != -1) {
+            accept(buffer, 0, read);
+        }
+    }
+
+    // The first character seen exactly once so far, or '_' if there is none
+    public char firstUnique() {
+        return head == NONE ? '_' : (char) head;
+    }
+
+    public boolean hasUnique() {
+        return head != NONE;
+    }
+
+    public void reset() {
+        Arrays.fill(state, UNSEEN);
+        head = NONE;
+        tail = NONE;
+    }
+
+    private void append(int c) {
+        prev[c] = tail;
+        next[c] = NONE;
+        if (tail == NONE) {
+            head = c;
+        } else {
+            next[tail] = c;
+        }
+        tail = c;
+    }
+
+    private void unlink(int c) {
+        if (prev[c] == NONE) {
+            head = next[c];
+        } else {
+            next[prev[c]] = next[c];
+        }
+        if (next[c] == NONE) {
+            tail = prev[c];
+        } else {
+            prev[next[c]] = prev[c];
+        }
+    }
+}
@@ -0,0 +1,142 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// Streams the merge of k sorted int sources through a loser (tournament) tree.
+// Each emitted value costs about log2(k) comparisons and nothing is buffered.
+public class KWayMerge implements PrimitiveIterator.OfInt {
+    private final int k;
+    private final int[][] arrays;
+    private final PrimitiveIterator.OfInt[] iterators;
+    private final int[] positions;
+    private final int[] heads;
+    private final boolean[] exhausted;
+
+    // tree[0] holds the current winner, tree[1..k-1] the loser of each match
+    private final int[] tree;
+
+    public KWayMerge(int[]... arrays) {
+        this(arrays, null, arrays.length);
+    }
+
+    public KWayMerge(PrimitiveIterator.OfInt... iterators) {
+        this(null, iterators, iterators.length);
+    }
+
+    private KWayMerge(int[][] arrays, PrimitiveIterator.OfInt[] iterators, int k) {
+        this.k = k;
+        this.arrays = arrays;
+        this.iterators = iterators;
+        this.positions = new int[k];
+        this.heads = new int[k];
+        this.exhausted = new boolean[k];
+        this.tree = new int[Math.max(k, 1)];
+
+        for (int s = 0; s < k; s++) {
+            advance(s);
+        }
+        build();
+    }
+
+    public static int[] merge(int[]... arrays) {
+        long total = 0;
+        for (int[] arr : arrays) {
+            total += arr.length;
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Merged size does not fit in an array: " + total);
+        }
+
+        int[] merged = new int[(int) total];
+        new KWayMerge(arrays).drainTo(merged, 0, merged.length);
+        return merged;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return k > 0 && !exhausted[tree[0]];
+    }
+
+    @Override
+    public int nextInt() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int winner = tree[0];
+        int value = heads[winner];
+        advance(winner);
+        replay(winner);
+        return value;
+    }
+
+    // Writes up to length merged values into out starting at offset; returns how many were written
+    public int drainTo(int[] out, int offset, int length) {
+        int written = 0;
+        while (written < length && hasNext()) {
+            int winner = tree[0];
+            out[offset + written++] = heads[winner];
+            advance(winner);
+            replay(winner);
+        }
+        return written;
+    }
+
+    private void advance(int s) {
+        if (arrays != null) {
+            int[] arr = arrays[s];
+            if (positions[s] < arr.length) {
+                heads[s] = arr[positions[s]++];
+            } else {
+                exhausted[s] = true;
+            }
+        } else {
+            PrimitiveIterator.OfInt it = iterators[s];
+            if (it.hasNext()) {
+                heads[s] = it.nextInt();
+            } else {
+                exhausted[s] = true;
+            }
+        }
+    }
+
+    // Plays the initial tournament; leaves live at positions k..2k-1 of an implicit heap
+    private void build() {
+        if (k == 0) return;
+
+        int[] winners = new int[2 * k];
+        for (int s = 0; s < k; s++) {
+            winners[k + s] = s;
+        }
+        for (int p = k - 1; p >= 1; p--) {
+            int left = winners[2 * p];
+            int right = winners[2 * p + 1];
+            if (beats(left, right)) {
+                winners[p] = left;
+                tree[p] = right;
+            } else {
+                winners[p] = right;
+                tree[p] = left;
+            }
+        }
+        tree[0] = winners[1];
+    }
+
+    // Replays the matches on the path from source s to the root
+    private void replay(int s) {
+        int winner = s;
+        for (int p = (s + k) >>> 1; p > 0; p >>>= 1) {
+            if (beats(tree[p], winner)) {
+                int temp = tree[p];
+                tree[p] = winner;
+                winner = temp;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    // Exhausted sources always lose; ties go to the lower index so the merge is stable
+    private boolean beats(int a, int b) {
+        if (exhausted[a]) return false;
+        if (exhausted[b]) return true;
+        return heads[a] < heads[b] || (heads[a] == heads[b] && a < b);
+    }
+}
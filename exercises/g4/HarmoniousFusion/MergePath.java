@@ -0,0 +1,95 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Parallel two-way merge: the output is cut along merge-path diagonals so every
+// range can be merged independently. Ties take from arr1 first, like HarmoniousFusion.
+public class MergePath {
+    // Output ranges smaller than this are merged sequentially by one worker
+    static final int SEQUENTIAL_THRESHOLD = 1 << 14;
+
+    public static int[] merge(int[] arr1, int[] arr2) {
+        int[] merged = new int[arr1.length + arr2.length];
+        merge(arr1, arr2, merged, ForkJoinPool.commonPool());
+        return merged;
+    }
+
+    public static void merge(int[] arr1, int[] arr2, int[] out, ForkJoinPool pool) {
+        if (out.length < arr1.length + arr2.length) {
+            throw new IllegalArgumentException("Output buffer is too small: " + out.length);
+        }
+        pool.invoke(new MergeTask(arr1, arr2, out, 0, 0, 0, arr1.length + arr2.length));
+    }
+
+    // Returns how many elements of arr1 come before output position diagonal
+    static int coRank(int diagonal, int[] arr1, int[] arr2) {
+        int low = Math.max(0, diagonal - arr2.length);
+        int high = Math.min(diagonal, arr1.length);
+
+        while (low < high) {
+            int i = (low + high) >>> 1;
+            int j = diagonal - i;
+            if (j > 0 && arr1[i] <= arr2[j - 1]) {
+                low = i + 1;
+            } else {
+                high = i;
+            }
+        }
+        return low;
+    }
+
+    private static class MergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] arr1;
+        private final int[] arr2;
+        private final int[] out;
+        private final int i;
+        private final int j;
+        private final int from;
+        private final int to;
+
+        MergeTask(int[] arr1, int[] arr2, int[] out, int i, int j, int from, int to) {
+            this.arr1 = arr1;
+            this.arr2 = arr2;
+            this.out = out;
+            this.i = i;
+            this.j = j;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                mergeRange(arr1, arr2, out, i, j, from, to);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            int midI = coRank(mid, arr1, arr2);
+            int midJ = mid - midI;
+            invokeAll(new MergeTask(arr1, arr2, out, i, j, from, mid),
+                      new MergeTask(arr1, arr2, out, midI, midJ, mid, to));
+        }
+    }
+
+    private static void mergeRange(int[] arr1, int[] arr2, int[] out, int i, int j, int from, int to) {
+        int n1 = arr1.length;
+        int n2 = arr2.length;
+        int k = from;
+
+        while (k < to && i < n1 && j < n2) {
+            if (arr1[i] <= arr2[j]) {
+                out[k++] = arr1[i++];
+            } else {
+                out[k++] = arr2[j++];
+            }
+        }
+        while (k < to && i < n1) {
+            out[k++] = arr1[i++];
+        }
+        while (k < to && j < n2) {
+            out[k++] = arr2[j++];
+        }
+    }
+}
@@ -1,11 +1,18 @@
 import java.util.Arrays;
 
 public class AnagramChecker {
+    // One reusable histogram per thread keeps the ASCII path allocation-free
+    private static final ThreadLocal<int[]> COUNTS = ThreadLocal.withInitial(() -> new int[128]);
+
     public boolean isAnagram(String str1, String str2) {
         // Step 1: Normalise both strings
 
         if (str1 == null || str2 == null) return false;
 
+        if (isAscii(str1) && isAscii(str2)) {
+            return isAsciiAnagram(str1, str2);
+        }
+
         str1 = str1.toLowerCase();
         str2 = str2.toLowerCase();
 
@@ -19,4 +26,42 @@ public class AnagramChecker {
 
         return Arrays.equals(arr1, arr2);
     }
-}
\ No newline at end of file
+
+    // Counts str1 up and str2 down; anagrams leave every bucket at zero
+    private static boolean isAsciiAnagram(String str1, String str2) {
+        if (str1.length() != str2.length()) return false;
+
+        int[] counts = COUNTS.get();
+        for (int i = 0; i < str1.length(); i++) {
+            counts[toLower(str1.charAt(i))]++;
+            counts[toLower(str2.charAt(i))]--;
+        }
+
+        // Equal lengths make the buckets sum to zero, so checking str1's buckets is enough
+        boolean anagram = true;
+        for (int i = 0; i < str1.length(); i++) {
+            if (counts[toLower(str1.charAt(i))] != 0) {
+                anagram = false;
+                break;
+            }
+        }
+
+        // Only buckets touched by either string can be dirty
+        for (int i = 0; i < str1.length(); i++) {
+            counts[toLower(str1.charAt(i))] = 0;
+            counts[toLower(str2.charAt(i))] = 0;
+        }
+        return anagram;
+    }
+
+    private static boolean isAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) >= 128) return false;
+        }
+        return true;
+    }
+
+    private static char toLower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
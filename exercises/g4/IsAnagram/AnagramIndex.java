@@ -0,0 +1,41 @@
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Groups a fixed dictionary by anagram signature (its lowercased letters in sorted
+// order), so finding every anagram of a word is one signature plus one hash lookup.
+public class AnagramIndex {
+    private final Map<String, List<String>> groups;
+
+    public AnagramIndex(Collection<String> dictionary) {
+        // groupingBy keeps dictionary order inside each group even on a parallel stream
+        Map<String, List<String>> grouped = dictionary.parallelStream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(AnagramIndex::signature));
+
+        // Freeze the groups so lookups can hand them out without copying
+        Map<String, List<String>> frozen = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((signature, words) -> frozen.put(signature, List.copyOf(words)));
+        this.groups = frozen;
+    }
+
+    // Every dictionary word that is an anagram of word, including word itself if present
+    public List<String> anagramsOf(String word) {
+        if (word == null) return List.of();
+        return groups.getOrDefault(signature(word), List.of());
+    }
+
+    public boolean hasAnagram(String word) {
+        return !anagramsOf(word).isEmpty();
+    }
+
+    public int groupCount() {
+        return groups.size();
+    }
+
+    // Same normalisation as AnagramChecker: lowercase, then sort the chars
+    static String signature(String word) {
+        char[] chars = word.toLowerCase().toCharArray();
+        Arrays.sort(chars);
+        return new String(chars);
+    }
+}
@@ -2,15 +2,23 @@ public class LongestCommonPrefix {
     public String findLongestCommonPrefix(String[] strs) {
         if (strs == null || strs.length == 0) { return ""; }
 
-        String prefix = strs[0];
+        String first = strs[0];
+        int length = first.length();
 
-        for (int i = 1; i < strs.length; i++) {
-            while (strs[i].indexOf(prefix) != 0 ) {
-                prefix = prefix.substring(0, prefix.length() - 1);
-                if (prefix.isEmpty()) return "";
-                
-            }
+        // Each string only shrinks the prefix length, so no substring until the end
+        for (int i = 1; i < strs.length && length > 0; i++) {
+            length = commonLength(first, strs[i], length);
         }
-        return prefix;
+        return first.substring(0, length);
     }
-}
\ No newline at end of file
+
+    // Length of the prefix shared by a and b, capped at limit
+    static int commonLength(String a, String b, int limit) {
+        int max = Math.min(limit, b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,64 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Divide-and-conquer longest common prefix for very large arrays. Every range is
+// compared against strs[0], so the combine step is just the minimum of two lengths.
+public class ParallelCommonPrefix {
+    // Ranges smaller than this are scanned sequentially by one worker
+    static final int SEQUENTIAL_THRESHOLD = 1 << 12;
+
+    public static String findLongestCommonPrefix(String[] strs) {
+        return findLongestCommonPrefix(strs, ForkJoinPool.commonPool());
+    }
+
+    public static String findLongestCommonPrefix(String[] strs, ForkJoinPool pool) {
+        if (strs == null || strs.length == 0) { return ""; }
+
+        String first = strs[0];
+        int length = pool.invoke(new PrefixTask(strs, 1, strs.length, first.length()));
+        return first.substring(0, length);
+    }
+
+    private static class PrefixTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final String[] strs;
+        private final int from;
+        private final int to;
+        private final int limit;
+
+        PrefixTask(String[] strs, int from, int to, int limit) {
+            this.strs = strs;
+            this.from = from;
+            this.to = to;
+            this.limit = limit;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                int length = limit;
+                for (int i = from; i < to && length > 0; i++) {
+                    length = LongestCommonPrefix.commonLength(strs[0], strs[i], length);
+                }
+                return length;
+            }
+
+            int mid = (from + to) >>> 1;
+            PrefixTask right = new PrefixTask(strs, mid, to, limit);
+            right.fork();
+            int left = new PrefixTask(strs, from, mid, limit).compute();
+
+            // An empty prefix on the left settles the answer without the right half
+            if (left == 0) {
+                right.cancel(false);
+                return 0;
+            }
+            // If no worker took the right half yet, scan it here with the shorter limit
+            if (right.tryUnfork()) {
+                return new PrefixTask(strs, mid, to, left).compute();
+            }
+            return Math.min(left, right.join());
+        }
+    }
+}
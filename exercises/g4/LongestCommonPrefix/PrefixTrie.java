@@ -0,0 +1,142 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Compressed trie over strings that are added one at a time. Every added string gets
+// an id; the common prefix of any subset of ids is the depth of the lowest common
+// ancestor of their end nodes, so queries never rescan the strings themselves.
+public class PrefixTrie {
+    private final Node root = new Node(null, null, 0, 0, 0);
+    private final List<String> strings = new ArrayList<>();
+    private final List<Node> ends = new ArrayList<>();
+
+    // Prefix length shared by every string added so far
+    private int sharedLength;
+
+    private static class Node {
+        Node parent;
+
+        // Edge label is source[start, end); depth is the prefix length at this node
+        String source;
+        int start;
+        int end;
+        int depth;
+
+        char[] keys = new char[0];
+        Node[] children = new Node[0];
+        int childCount;
+
+        Node(Node parent, String source, int start, int end, int depth) {
+            this.parent = parent;
+            this.source = source;
+            this.start = start;
+            this.end = end;
+            this.depth = depth;
+        }
+
+        Node child(char c) {
+            for (int i = 0; i < childCount; i++) {
+                if (keys[i] == c) return children[i];
+            }
+            return null;
+        }
+
+        void putChild(char c, Node child) {
+            for (int i = 0; i < childCount; i++) {
+                if (keys[i] == c) {
+                    children[i] = child;
+                    return;
+                }
+            }
+            if (childCount == keys.length) {
+                int capacity = Math.max(2, childCount * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            keys[childCount] = c;
+            children[childCount++] = child;
+        }
+    }
+
+    // Adds s and returns its id
+    public int add(String s) {
+        Node node = root;
+        int i = 0;
+
+        while (i < s.length()) {
+            Node child = node.child(s.charAt(i));
+            if (child == null) {
+                Node leaf = new Node(node, s, i, s.length(), s.length());
+                node.putChild(s.charAt(i), leaf);
+                node = leaf;
+                break;
+            }
+
+            // Follow the edge label for as long as it matches
+            int j = child.start;
+            while (j < child.end && i < s.length() && child.source.charAt(j) == s.charAt(i)) {
+                i++;
+                j++;
+            }
+            node = j == child.end ? child : split(node, child, j);
+        }
+
+        int id = strings.size();
+        strings.add(s);
+        ends.add(node);
+        sharedLength = id == 0 ? s.length() : Math.min(sharedLength, lca(ends.get(0), node).depth);
+        return id;
+    }
+
+    public int size() {
+        return strings.size();
+    }
+
+    public String get(int id) {
+        return strings.get(id);
+    }
+
+    // Longest common prefix of every string added so far, in O(1)
+    public String longestCommonPrefix() {
+        return strings.isEmpty() ? "" : strings.get(0).substring(0, sharedLength);
+    }
+
+    public int commonPrefixLength(int... ids) {
+        if (ids.length == 0) return 0;
+
+        Node node = ends.get(ids[0]);
+        for (int i = 1; i < ids.length && node != root; i++) {
+            node = lca(node, ends.get(ids[i]));
+        }
+        return node.depth;
+    }
+
+    public String commonPrefix(int... ids) {
+        if (ids.length == 0) return "";
+        return strings.get(ids[0]).substring(0, commonPrefixLength(ids));
+    }
+
+    // Splits child's edge at label position j and returns the new middle node
+    private Node split(Node parent, Node child, int j) {
+        int splitDepth = child.depth - (child.end - j);
+        Node middle = new Node(parent, child.source, child.start, j, splitDepth);
+        parent.putChild(child.source.charAt(child.start), middle);
+
+        child.parent = middle;
+        child.start = j;
+        middle.putChild(child.source.charAt(j), child);
+        return middle;
+    }
+
+    // Depth strictly grows along every edge, so the deeper node can always step up
+    private static Node lca(Node a, Node b) {
+        while (a != b) {
+            if (a.depth >= b.depth) {
+                a = a.parent;
+            } else {
+                b = b.parent;
+            }
+        }
+        return a;
+    }
+}
@@ -0,0 +1,331 @@
+import java.util.*;
+
+// Approximate top-k tracker for unbounded int streams (Space-Saving), with an
+// optional Count-Min sketch to tighten the estimates. Memory is fixed at construction.
+//
+// Error bounds, with N = totalCount() and m = capacity:
+// - estimate(x) never under-counts, and over-counts by at most N / m
+// - every value with a true frequency above N / m is guaranteed to be tracked
+// - with the sketch enabled, estimate(x) is also at most true + epsilon * N
+//   with probability 1 - delta
+//
+// An instance is not thread-safe: give each thread its own and merge() them.
+public class HeavyHitters {
+    private final int capacity;
+
+    // Monitored counters, addressed by counter id
+    private final int[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    private int used;
+
+    // Min-heap of counter ids ordered by count, plus each id's position in it
+    private final int[] heap;
+    private final int[] heapPos;
+
+    // Open-addressing index from key to counter id; -1 marks an empty slot
+    private final int[] indexKeys;
+    private final int[] indexIds;
+    private final int indexMask;
+
+    private final CountMinSketch sketch;
+    private long total;
+
+    public HeavyHitters(int capacity) {
+        this(capacity, null);
+    }
+
+    public HeavyHitters(int capacity, double epsilon, double delta) {
+        this(capacity, new CountMinSketch(epsilon, delta));
+    }
+
+    private HeavyHitters(int capacity, CountMinSketch sketch) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.keys = new int[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.heap = new int[capacity];
+        this.heapPos = new int[capacity];
+
+        int indexCapacity = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        this.indexKeys = new int[indexCapacity];
+        this.indexIds = new int[indexCapacity];
+        this.indexMask = indexCapacity - 1;
+        Arrays.fill(indexIds, -1);
+
+        this.sketch = sketch;
+    }
+
+    public void offer(int value) {
+        offer(value, 1);
+    }
+
+    public void offer(int value, long count) {
+        if (count <= 0) return;
+        total += count;
+        if (sketch != null) {
+            sketch.add(value, count);
+        }
+
+        int id = lookup(value);
+        if (id >= 0) {
+            counts[id] += count;
+            siftDown(heapPos[id]);
+            return;
+        }
+
+        if (used < capacity) {
+            id = used++;
+            keys[id] = value;
+            counts[id] = count;
+            errors[id] = 0;
+            heap[id] = id;
+            heapPos[id] = id;
+            insertIndex(value, id);
+            siftUp(id);
+            return;
+        }
+
+        // Evict the smallest counter; the newcomer inherits its count as error
+        id = heap[0];
+        long min = counts[id];
+        removeIndex(keys[id]);
+        keys[id] = value;
+        counts[id] = min + count;
+        errors[id] = min;
+        insertIndex(value, id);
+        siftDown(0);
+    }
+
+    // Upper bound on how often value has been offered
+    public long estimate(int value) {
+        int id = lookup(value);
+        long estimate = id >= 0 ? counts[id] : minCount();
+        if (sketch != null) {
+            estimate = Math.min(estimate, sketch.estimate(value));
+        }
+        return estimate;
+    }
+
+    // Lower bound on how often value has been offered
+    public long guaranteedCount(int value) {
+        int id = lookup(value);
+        return id >= 0 ? counts[id] - errors[id] : 0;
+    }
+
+    public long totalCount() {
+        return total;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // Values ordered by estimated frequency, highest first; ties go to the smaller error
+    public List<Integer> topK(int k) {
+        Integer[] ids = new Integer[used];
+        for (int i = 0; i < used; i++) {
+            ids[i] = i;
+        }
+        Arrays.sort(ids, (a, b) -> {
+            int countCompare = Long.compare(counts[b], counts[a]);
+            if (countCompare != 0) return countCompare;
+            return Long.compare(errors[a], errors[b]);
+        });
+
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < Math.min(k, used); i++) {
+            result.add(keys[ids[i]]);
+        }
+        return result;
+    }
+
+    // Folds other into this summary; the error bounds hold for the combined stream
+    public void merge(HeavyHitters other) {
+        if ((sketch == null) != (other.sketch == null)) {
+            throw new IllegalArgumentException("Cannot merge trackers with and without a sketch");
+        }
+        if (sketch != null) {
+            sketch.merge(other.sketch);
+        }
+
+        // A value missing from a full summary may still have up to its minimum count
+        long thisMin = minCount();
+        long otherMin = other.minCount();
+
+        int n = used + other.used;
+        int[] mergedKeys = new int[n];
+        long[] mergedCounts = new long[n];
+        long[] mergedErrors = new long[n];
+        int m = 0;
+
+        for (int id = 0; id < used; id++) {
+            int otherId = other.lookup(keys[id]);
+            mergedKeys[m] = keys[id];
+            mergedCounts[m] = counts[id] + (otherId >= 0 ? other.counts[otherId] : otherMin);
+            mergedErrors[m] = errors[id] + (otherId >= 0 ? other.errors[otherId] : otherMin);
+            m++;
+        }
+        for (int id = 0; id < other.used; id++) {
+            if (lookup(other.keys[id]) >= 0) continue;
+            mergedKeys[m] = other.keys[id];
+            mergedCounts[m] = other.counts[id] + thisMin;
+            mergedErrors[m] = other.errors[id] + thisMin;
+            m++;
+        }
+
+        Integer[] order = new Integer[m];
+        for (int i = 0; i < m; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(mergedCounts[b], mergedCounts[a]));
+
+        Arrays.fill(indexIds, -1);
+        used = Math.min(m, capacity);
+        for (int id = 0; id < used; id++) {
+            int source = order[id];
+            keys[id] = mergedKeys[source];
+            counts[id] = mergedCounts[source];
+            errors[id] = mergedErrors[source];
+            insertIndex(keys[id], id);
+        }
+
+        // Counts are in descending order, so reverse them into a valid min-heap
+        for (int i = 0; i < used; i++) {
+            heap[i] = used - 1 - i;
+            heapPos[used - 1 - i] = i;
+        }
+        total += other.total;
+    }
+
+    private long minCount() {
+        return used < capacity ? 0 : counts[heap[0]];
+    }
+
+    private int lookup(int key) {
+        int slot = hash(key) & indexMask;
+        while (indexIds[slot] != -1) {
+            if (indexKeys[slot] == key) return indexIds[slot];
+            slot = (slot + 1) & indexMask;
+        }
+        return -1;
+    }
+
+    private void insertIndex(int key, int id) {
+        int slot = hash(key) & indexMask;
+        while (indexIds[slot] != -1) {
+            slot = (slot + 1) & indexMask;
+        }
+        indexKeys[slot] = key;
+        indexIds[slot] = id;
+    }
+
+    // Linear-probing delete: shift later entries of the cluster back into the hole
+    private void removeIndex(int key) {
+        int hole = hash(key) & indexMask;
+        while (indexKeys[hole] != key || indexIds[hole] == -1) {
+            hole = (hole + 1) & indexMask;
+        }
+
+        int next = (hole + 1) & indexMask;
+        while (indexIds[next] != -1) {
+            int ideal = hash(indexKeys[next]) & indexMask;
+            if (((next - ideal) & indexMask) >= ((next - hole) & indexMask)) {
+                indexKeys[hole] = indexKeys[next];
+                indexIds[hole] = indexIds[next];
+                hole = next;
+            }
+            next = (next + 1) & indexMask;
+        }
+        indexIds[hole] = -1;
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[id]) break;
+            place(heap[parent], i);
+            i = parent;
+        }
+        place(id, i);
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= used) break;
+            if (child + 1 < used && counts[heap[child + 1]] < counts[heap[child]]) {
+                child++;
+            }
+            if (counts[id] <= counts[heap[child]]) break;
+            place(heap[child], i);
+            i = child;
+        }
+        place(id, i);
+    }
+
+    private void place(int id, int i) {
+        heap[i] = id;
+        heapPos[id] = i;
+    }
+
+    static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Count-Min sketch: depth rows of width counters, each row with its own hash
+    private static class CountMinSketch {
+        private final int width;
+        private final int depth;
+        private final long[] table;
+
+        CountMinSketch(double epsilon, double delta) {
+            if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1)) {
+                throw new IllegalArgumentException("epsilon and delta must be in (0, 1)");
+            }
+            this.width = (int) Math.ceil(Math.E / epsilon);
+            this.depth = (int) Math.ceil(Math.log(1 / delta));
+            this.table = new long[width * depth];
+        }
+
+        void add(int key, long count) {
+            for (int row = 0; row < depth; row++) {
+                table[row * width + column(key, row)] += count;
+            }
+        }
+
+        long estimate(int key) {
+            long min = Long.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                min = Math.min(min, table[row * width + column(key, row)]);
+            }
+            return min;
+        }
+
+        void merge(CountMinSketch other) {
+            if (width != other.width || depth != other.depth) {
+                throw new IllegalArgumentException("Cannot merge sketches of different dimensions");
+            }
+            for (int i = 0; i < table.length; i++) {
+                table[i] += other.table[i];
+            }
+        }
+
+        private int column(int key, int row) {
+            // Murmur3 finalizer over a per-row seed; fixed seeds keep sketches mergeable
+            int h = key ^ (row * 0x85EBCA6B + 0x6A09E667);
+            h ^= h >>> 16;
+            h *= 0x85EBCA6B;
+            h ^= h >>> 13;
+            h *= 0xC2B2AE35;
+            h ^= h >>> 16;
+            return (h & Integer.MAX_VALUE) % width;
+        }
+    }
+}
@@ -3,30 +3,136 @@ import java.util.*;
 public class TopFrequents {
 
     public List<Integer> findTopKFrequent(int[] nums, int k) {
-        Map<Integer, Integer> freqMap = new HashMap<>();
-        Map<Integer, Integer> firstIndexMap = new HashMap<>();
+        CountTable table = new CountTable(nums.length);
 
         for (int i = 0; i < nums.length; i++) {
-            int num = nums[i];
-            freqMap.put(num, freqMap.getOrDefault(num, 0) + 1);
-            firstIndexMap.putIfAbsent(num, i);
+            table.increment(nums[i], i);
         }
 
-        List<Integer> numbers = new ArrayList<>(freqMap.keySet());
+        int size = Math.min(Math.max(k, 0), table.size);
+        if (size == 0) return new ArrayList<>();
 
-        // Sort by frequency (descending), then by first occurrence
-        numbers.sort((a, b) -> {
-            int freqCompare = freqMap.get(b) - freqMap.get(a);
-            if (freqCompare != 0) return freqCompare;
-            return firstIndexMap.get(a) - firstIndexMap.get(b);
-        });
+        // Min-heap of table slots: the root is the weakest of the current top k
+        int[] heap = new int[size];
+        int heapSize = 0;
 
-        List<Integer> result = new ArrayList<>();
-        for (int i = 0; i < Math.min(k, numbers.size()); i++) {
-            result.add(numbers.get(i));
+        for (int slot = 0; slot < table.keys.length; slot++) {
+            if (table.counts[slot] == 0) continue;
+
+            if (heapSize < size) {
+                heap[heapSize] = slot;
+                siftUp(table, heap, heapSize++);
+            } else if (table.ranksBefore(slot, heap[0])) {
+                heap[0] = slot;
+                siftDown(table, heap, 0, heapSize);
+            }
+        }
+
+        // Popping the weakest first fills the result from the back
+        Integer[] ordered = new Integer[size];
+        for (int i = size - 1; i >= 0; i--) {
+            ordered[i] = table.keys[heap[0]];
+            heap[0] = heap[--heapSize];
+            siftDown(table, heap, 0, heapSize);
+        }
+
+        return new ArrayList<>(Arrays.asList(ordered));
+    }
+
+    private static void siftUp(CountTable table, int[] heap, int i) {
+        int slot = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!table.ranksBefore(heap[parent], slot)) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = slot;
+    }
+
+    private static void siftDown(CountTable table, int[] heap, int i, int heapSize) {
+        int slot = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && table.ranksBefore(heap[child], heap[child + 1])) {
+                child++;
+            }
+            if (!table.ranksBefore(slot, heap[child])) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = slot;
+    }
+
+    // Open-addressing int -> (count, first index) table; a count of 0 marks an empty slot
+    private static class CountTable {
+        private static final int MAX_INITIAL_CAPACITY = 1 << 16;
+
+        int[] keys;
+        int[] counts;
+        int[] firstIndex;
+        int size;
+        private int mask;
+
+        CountTable(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(Math.min(expected, MAX_INITIAL_CAPACITY), 4) * 2 - 1) << 1;
+            allocate(capacity);
+        }
+
+        void increment(int key, int index) {
+            int slot = hash(key) & mask;
+            while (counts[slot] != 0) {
+                if (keys[slot] == key) {
+                    counts[slot]++;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            keys[slot] = key;
+            counts[slot] = 1;
+            firstIndex[slot] = index;
+            if (++size > (mask + 1) >>> 1) {
+                grow();
+            }
+        }
+
+        // Higher count first, then earlier first occurrence
+        boolean ranksBefore(int a, int b) {
+            if (counts[a] != counts[b]) return counts[a] > counts[b];
+            return firstIndex[a] < firstIndex[b];
         }
 
-        return result;
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldCounts = counts;
+            int[] oldFirstIndex = firstIndex;
+            allocate(oldKeys.length * 2);
+
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldCounts[i] == 0) continue;
+                int slot = hash(oldKeys[i]) & mask;
+                while (counts[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+                firstIndex[slot] = oldFirstIndex[i];
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new int[capacity];
+            counts = new int[capacity];
+            firstIndex = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        private static int hash(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
     }
 }
 